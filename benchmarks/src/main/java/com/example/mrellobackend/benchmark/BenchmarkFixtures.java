@@ -0,0 +1,110 @@
+package com.example.mrellobackend.benchmark;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Entity graphs and service instances shared by the benchmarks. Data comes from a fixed seed so
+ * every run, on every commit, measures the same input.
+ */
+final class BenchmarkFixtures {
+    static final long SEED = 42L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The service with every constructor dependency left null. Only usable for methods that do not
+     * touch its collaborators, such as the DTO mappers.
+     */
+    static <T> T unwired(Class<T> serviceType) {
+        try {
+            Constructor<?> constructor = serviceType.getDeclaredConstructors()[0];
+            Object[] args = new Object[constructor.getParameterCount()];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            for (int i = 0; i < args.length; i++) {
+                args[i] = parameterTypes[i].isPrimitive() ? Array.get(Array.newInstance(parameterTypes[i], 1), 0) : null;
+            }
+            return serviceType.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + serviceType.getName(), e);
+        }
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .username("user-" + id)
+                    .email("user-" + id + "@example.com")
+                    .firstName("First " + id)
+                    .lastName("Last " + id)
+                    .password("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma")
+                    .build());
+        }
+        return users;
+    }
+
+    static Board board(List<User> members) {
+        Workspace workspace = Workspace.builder()
+                .id(1L)
+                .title("Benchmark workspace")
+                .owner(members.get(0))
+                .members(members)
+                .build();
+        return Board.builder()
+                .id(1L)
+                .title("Benchmark board")
+                .description("Board used by the JMH benchmarks")
+                .workspace(workspace)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .build();
+    }
+
+    static List<Column> columns(Board board, int count) {
+        List<Column> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Column column = new Column();
+            column.setId(i + 1L);
+            column.setTitle("Column " + i);
+            column.setPosition(i);
+            column.setVersion(0L);
+            column.setBoard(board);
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    static List<Task> tasks(List<Column> columns, List<User> assignees, int count) {
+        Random random = new Random(SEED);
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id(i + 1L)
+                    .title("Task " + i + " " + Long.toString(random.nextLong(), 36))
+                    .description(random.nextBoolean() ? "Description of task " + i + " with a little more text" : null)
+                    .orderKey((i + 1L) * 65536L)
+                    .version((long) random.nextInt(5))
+                    .column(columns.get(i % columns.size()))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .dueDate(random.nextBoolean() ? LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)) : null)
+                    .assignedUser(random.nextInt(4) == 0 ? null : assignees.get(random.nextInt(assignees.size())))
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.mrellobackend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (e.g. from two commits) benchmark by benchmark.
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.example.mrellobackend.benchmark.CompareResults \
+ *         baseline.json candidate.json [threshold-percent]
+ * </pre>
+ * A benchmark counts as regressed when it got worse by more than the threshold (default 10%) and
+ * by more than the two scores' error margins combined. Exits with status 1 if any regressed.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> candidate = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        System.out.printf("%-72s %14s %14s %-8s %9s%n", "benchmark", "baseline", "candidate", "unit", "change");
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-72s %14s %14.3f %-8s %9s%n", entry.getKey(), "-", after.score(), after.unit(), "new");
+                continue;
+            }
+            // Positive means worse, whichever direction is better for the benchmark mode
+            double change = (after.score() - before.score()) / before.score() * 100.0;
+            double worse = after.higherIsBetter() ? -change : change;
+            boolean regressed = worse > threshold
+                    && Math.abs(after.score() - before.score()) > before.error() + after.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-72s %14.3f %14.3f %-8s %+8.1f%%%s%n", entry.getKey(), before.score(), after.score(),
+                    after.unit(), change, regressed ? "  REGRESSED" : "");
+        }
+        System.out.printf("%n%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private record Score(double score, double error, String unit, boolean higherIsBetter) {
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            JsonNode metric = result.get("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0.0);
+            scores.put(key(result), new Score(
+                    metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0.0 : error,
+                    metric.get("scoreUnit").asText(),
+                    "thrpt".equals(result.get("mode").asText())));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        String benchmark = result.get("benchmark").asText().replace("com.example.mrellobackend.", "");
+        JsonNode params = result.get("params");
+        if (params == null || params.isEmpty()) {
+            return benchmark;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+        return benchmark + sorted;
+    }
+}
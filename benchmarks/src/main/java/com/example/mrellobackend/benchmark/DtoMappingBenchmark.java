@@ -0,0 +1,85 @@
+package com.example.mrellobackend.benchmark;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.BoardDto;
+import com.example.mrellobackend.dto.ColumnDto;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.service.BoardService;
+import com.example.mrellobackend.service.ColumnService;
+import com.example.mrellobackend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for list responses: one page of tasks, all columns of a board,
+ * and the board itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"50", "500"})
+    public int tasks;
+
+    private TaskService taskService;
+    private ColumnService columnService;
+    private BoardService boardService;
+    private Board board;
+    private List<Column> columns;
+    private List<Task> taskList;
+
+    @Setup
+    public void setUp() {
+        taskService = BenchmarkFixtures.unwired(TaskService.class);
+        columnService = BenchmarkFixtures.unwired(ColumnService.class);
+        boardService = BenchmarkFixtures.unwired(BoardService.class);
+
+        List<User> users = BenchmarkFixtures.users(20);
+        board = BenchmarkFixtures.board(users);
+        columns = BenchmarkFixtures.columns(board, 8);
+        taskList = BenchmarkFixtures.tasks(columns, users, tasks);
+    }
+
+    @Benchmark
+    public List<TaskDto> taskDtos() {
+        List<TaskDto> dtos = new ArrayList<>(taskList.size());
+        for (Task task : taskList) {
+            dtos.add(taskService.convertToDto(task, dtos.size()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ColumnDto> columnDtos() {
+        List<ColumnDto> dtos = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            dtos.add(columnService.convertToDto(column));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public BoardDto boardDto() {
+        return boardService.convertToDto(board);
+    }
+}
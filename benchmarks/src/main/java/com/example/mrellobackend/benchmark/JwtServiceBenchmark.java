@@ -0,0 +1,71 @@
+package com.example.mrellobackend.benchmark;
+
+import com.example.mrellobackend.auth.config.JwtService;
+import com.example.mrellobackend.auth.user.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ * <ul>
+ *     <li>{@code legacyFilterPath}: extractUsername followed by isTokenValid, as the filter used to do</li>
+ *     <li>{@code verifyToken}: single parse with the prebuilt parser and key</li>
+ *     <li>{@code verifyTokenCached}: single parse skipped by the verified-token cache</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    static final String SECRET_KEY = "MzJieXRlc2xvbmdzZWNyZXRrZXlmb3Jqd3RzaWduaW5n";
+
+    private JwtService jwtService;
+    private JwtService cachingJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, false, 0, new SimpleMeterRegistry());
+        cachingJwtService = new JwtService(SECRET_KEY, true, 10_000, new SimpleMeterRegistry());
+        user = User.builder().id(1L).username("benchmark-user").email("benchmark@example.com").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyToken() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyTokenCached() {
+        return cachingJwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mrellobackend.benchmark;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.config.ReplicaRoutingDataSource;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.WorkspaceRepository;
+import com.example.mrellobackend.service.WorkspaceMembershipService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Is the current user a member of the workspace?" against large member lists.
+ * <ul>
+ *     <li>{@code membersContains}: {@code Workspace.members.contains(user)}, as the services used to check</li>
+ *     <li>{@code memberIdScan}: linear scan comparing ids only</li>
+ *     <li>{@code membershipCache}: {@link WorkspaceMembershipService} with a warm cache</li>
+ * </ul>
+ * The checked user is drawn from the whole list, so the scans cover half of it on average.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MembershipCheckBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int members;
+
+    private Workspace workspace;
+    private WorkspaceMembershipService membershipService;
+    // Users to check, in a fixed random order; cycling through them avoids per-invocation setup
+    private final User[] checkedUsers = new User[1024];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkFixtures.users(members);
+        workspace = BenchmarkFixtures.board(users).getWorkspace();
+
+        // Only reached on cache misses, i.e. while warming up below
+        WorkspaceRepository repository = (WorkspaceRepository) Proxy.newProxyInstance(
+                WorkspaceRepository.class.getClassLoader(),
+                new Class<?>[]{WorkspaceRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("existsMemberById")) {
+                        return true;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // No transaction manager or replicas: loads call the repository directly
+        membershipService = new WorkspaceMembershipService(repository, null,
+                new DefaultListableBeanFactory().getBeanProvider(ReplicaRoutingDataSource.class), 100_000, Duration.ofHours(1));
+        users.forEach(member -> membershipService.isMember(member, workspace.getId()));
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < checkedUsers.length; i++) {
+            checkedUsers[i] = users.get(random.nextInt(users.size()));
+        }
+    }
+
+    private User nextUser() {
+        return checkedUsers[next++ & (checkedUsers.length - 1)];
+    }
+
+    @Benchmark
+    public boolean membersContains() {
+        return workspace.getMembers().contains(nextUser());
+    }
+
+    @Benchmark
+    public boolean memberIdScan() {
+        Long userId = nextUser().getId();
+        for (User member : workspace.getMembers()) {
+            if (member.getId().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean membershipCache() {
+        return membershipService.isMember(nextUser(), workspace.getId());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mrellobackend.benchmark;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a list of tasks as a JSON response body, with the mapper configured the way Spring Boot
+ * configures it (java.time support, ISO dates). {@code typedWriter} reuses a writer bound to the
+ * list type instead of resolving the serializer from the runtime type on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDtoSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int tasks;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<TaskDto> dtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+
+        TaskService taskService = BenchmarkFixtures.unwired(TaskService.class);
+        List<User> users = BenchmarkFixtures.users(20);
+        List<Column> columns = BenchmarkFixtures.columns(BenchmarkFixtures.board(users), 8);
+        dtos = new ArrayList<>(tasks);
+        for (Task task : BenchmarkFixtures.tasks(columns, users, tasks)) {
+            dtos.add(taskService.convertToDto(task, dtos.size()));
+        }
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(dtos);
+    }
+}
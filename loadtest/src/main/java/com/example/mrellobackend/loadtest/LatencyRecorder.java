@@ -0,0 +1,72 @@
+package com.example.mrellobackend.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw per-endpoint latencies. Each load generator thread records into its own instance, which
+ * are merged once the run is over, so recording never contends.
+ */
+final class LatencyRecorder {
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    void record(String endpoint, long nanos, boolean failed) {
+        samples.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, failed);
+    }
+
+    static Map<String, Summary> summarize(Collection<LatencyRecorder> recorders, long elapsedNanos) {
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        recorders.forEach(recorder -> recorder.samples.forEach((endpoint, endpointSamples) ->
+                merged.computeIfAbsent(endpoint, name -> new Samples()).addAll(endpointSamples)));
+
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        merged.forEach((endpoint, endpointSamples) -> summaries.put(endpoint, endpointSamples.summarize(elapsedNanos)));
+        return summaries;
+    }
+
+    record Summary(int requests, int errors, double throughput, long p50Nanos, long p99Nanos, long p999Nanos,
+                   long maxNanos) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long value, boolean failed) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Summary summarize(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Summary(count, errors, count / (elapsedNanos / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1]);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mrellobackend.loadtest;
+
+import com.example.mrellobackend.loadtest.Seeder.SeededBoard;
+import com.example.mrellobackend.loadtest.Workload.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end load test: boots the app, seeds users, workspaces, boards and tasks through the API,
+ * then runs the configured mix of board reads and task moves, reorders and bulk updates from
+ * concurrent clients and reports throughput and p50/p99/p999 per endpoint.
+ * <p>
+ * With the argument {@code compare-thread-modes} the same scenario runs once on platform request
+ * threads and once on virtual threads. Settings are listed in {@link LoadTestConfig};
+ * {@code -Dloadtest.report=file.json} also writes the results as JSON.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        List<LoadTestConfig> runs = args.length > 0 && args[0].equals("compare-thread-modes")
+                ? List.of(config.withVirtualThreads(false), config.withVirtualThreads(true))
+                : List.of(config);
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (LoadTestConfig run : runs) {
+            Map<String, LatencyRecorder.Summary> summaries = run(run);
+            String mode = run.virtualThreads() ? "virtual threads" : "platform threads";
+            print(mode, run, summaries);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("config", run);
+            entry.put("endpoints", summaries);
+            report.add(entry);
+        }
+
+        if (config.report() != null) {
+            new ObjectMapper()
+                    .findAndRegisterModules()
+                    .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(new File(config.report()), report);
+        }
+    }
+
+    private static Map<String, LatencyRecorder.Summary> run(LoadTestConfig config) throws Exception {
+        try (LoadTestServer server = LoadTestServer.start(config.virtualThreads())) {
+            List<SeededBoard> boards = new Seeder(config).seed(server.baseUrl());
+            Workload workload = new Workload(config.mix());
+
+            drive(config, boards, workload, config.warmup(), config.seed() - 1);
+            long started = System.nanoTime();
+            List<LatencyRecorder> recorders = drive(config, boards, workload, config.duration(), config.seed());
+            return LatencyRecorder.summarize(recorders, System.nanoTime() - started);
+        }
+    }
+
+    // Client i works on board i modulo the board count, so several clients contend for each board
+    private static List<LatencyRecorder> drive(LoadTestConfig config, List<SeededBoard> boards, Workload workload,
+                                               Duration duration, long seed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<LatencyRecorder>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.clients(); i++) {
+                SeededBoard board = boards.get(i % boards.size());
+                Random random = new Random(seed * 31 + i);
+                clients.add(executor.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = workload.next(random);
+                        long started = System.nanoTime();
+                        boolean failed;
+                        try {
+                            failed = Workload.execute(operation, board, random) >= 400;
+                        } catch (RuntimeException e) {
+                            failed = true;
+                        }
+                        recorder.record(operation.endpoint(), System.nanoTime() - started, failed);
+                    }
+                    return recorder;
+                }));
+            }
+        }
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        for (Future<LatencyRecorder> client : clients) {
+            recorders.add(client.get());
+        }
+        return recorders;
+    }
+
+    private static void print(String mode, LoadTestConfig config, Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%s, %d clients, %d boards x %d tasks, %ds%n", mode, config.clients(),
+                config.users() * config.boardsPerUser(), config.tasksPerBoard(), config.duration().toSeconds());
+        System.out.printf("%-28s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        summaries.forEach((endpoint, summary) -> System.out.printf("%-28s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                endpoint, summary.requests(), summary.throughput(), summary.p50Nanos() / 1e6,
+                summary.p99Nanos() / 1e6, summary.p999Nanos() / 1e6, summary.maxNanos() / 1e6, summary.errors()));
+    }
+}
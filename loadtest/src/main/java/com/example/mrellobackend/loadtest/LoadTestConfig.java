@@ -0,0 +1,60 @@
+package com.example.mrellobackend.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scenario settings, read from {@code -Dloadtest.*} system properties. The defaults seed
+ * 4 users x 2 boards x 2000 tasks and drive them with 64 concurrent clients.
+ *
+ * @param mix relative weight of each {@link Workload.Operation}, e.g.
+ *            {@code -Dloadtest.mix=SNAPSHOT=25,COLUMN_PAGE=25,TASK=10,MOVE=15,REORDER=15,BULK_UPDATE=10}
+ */
+record LoadTestConfig(
+        int users,
+        int boardsPerUser,
+        int columnsPerBoard,
+        int tasksPerBoard,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        boolean virtualThreads,
+        long seed,
+        Map<Workload.Operation, Integer> mix,
+        String report
+) {
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 4),
+                Integer.getInteger("loadtest.boards-per-user", 2),
+                Integer.getInteger("loadtest.columns-per-board", 4),
+                Integer.getInteger("loadtest.tasks-per-board", 2000),
+                Integer.getInteger("loadtest.clients", 64),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "true")),
+                Long.getLong("loadtest.seed", 42),
+                parseMix(System.getProperty("loadtest.mix",
+                        "SNAPSHOT=25,COLUMN_PAGE=25,TASK=10,MOVE=15,REORDER=15,BULK_UPDATE=10")),
+                System.getProperty("loadtest.report")
+        );
+    }
+
+    LoadTestConfig withVirtualThreads(boolean enabled) {
+        return new LoadTestConfig(users, boardsPerUser, columnsPerBoard, tasksPerBoard, clients, warmup, duration,
+                enabled, seed, mix, report);
+    }
+
+    private static Map<Workload.Operation, Integer> parseMix(String mix) {
+        Map<Workload.Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected OPERATION=weight in loadtest.mix, got: " + entry);
+            }
+            weights.put(Workload.Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
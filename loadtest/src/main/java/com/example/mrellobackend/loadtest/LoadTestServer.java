@@ -0,0 +1,62 @@
+package com.example.mrellobackend.loadtest;
+
+import com.example.mrellobackend.MrelloBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The application under test, started in this JVM on a random port. Without
+ * {@code -Dloadtest.datasource.url} every server gets a fresh H2 database in PostgreSQL mode,
+ * which has no network round trips and so understates the time requests spend blocked on JDBC.
+ */
+final class LoadTestServer implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private LoadTestServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    static LoadTestServer start(boolean virtualThreads) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("logging.level.root", "WARN");
+
+        String url = System.getProperty("loadtest.datasource.url");
+        if (url != null) {
+            properties.put("spring.datasource.url", url);
+            properties.put("spring.datasource.username", System.getProperty("loadtest.datasource.username", "postgres"));
+            properties.put("spring.datasource.password", System.getProperty("loadtest.datasource.password", ""));
+        } else {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+            properties.put("mrello.search.engine", "memory");
+        }
+
+        // Passed as command line arguments so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new LoadTestServer(new SpringApplicationBuilder(MrelloBackendApplication.class).run(args));
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
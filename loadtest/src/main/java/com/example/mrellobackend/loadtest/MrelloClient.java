@@ -0,0 +1,141 @@
+package com.example.mrellobackend.loadtest;
+
+import com.example.mrellobackend.auth.AuthenticationResponse;
+import com.example.mrellobackend.auth.RegisterRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal JSON client for the REST API, authenticated as one registered user. Safe to share
+ * between load generator threads.
+ */
+final class MrelloClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String authorization;
+
+    private MrelloClient(HttpClient http, String baseUrl, String token) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + token;
+    }
+
+    static MrelloClient register(String baseUrl, String username) {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        RegisterRequest request = RegisterRequest.builder()
+                .username(username)
+                .email(username + "@loadtest.example.com")
+                .password("loadtest-password")
+                .confirmPassword("loadtest-password")
+                .build();
+        HttpResponse<String> response = send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(request)))
+                .timeout(REQUEST_TIMEOUT)
+                .build());
+        return new MrelloClient(http, baseUrl, read(response, AuthenticationResponse.class).getToken());
+    }
+
+    <T> T get(String path, Class<T> type) {
+        return read(send(http, request(path).GET().build()), type);
+    }
+
+    <T> T post(String path, Object body, Class<T> type) {
+        return read(send(http, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build()), type);
+    }
+
+    // Uploads the rows as newline-delimited JSON, the default task import format
+    <T> T postNdjson(String path, List<?> rows, Class<T> type) {
+        StringBuilder body = new StringBuilder();
+        rows.forEach(row -> body.append(toJson(row)).append('\n'));
+        return read(send(http, request(path)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build()), type);
+    }
+
+    /**
+     * Issues a request and returns only the status code; the body is read and discarded so that
+     * response serialization is part of the measured time.
+     */
+    int send(String method, String path, Object jsonBody) {
+        HttpRequest.Builder request = request(path);
+        if (jsonBody == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(toJson(jsonBody)));
+        }
+        try {
+            return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    private static HttpResponse<String> send(HttpClient http, HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T read(HttpResponse<String> response, Class<T> type) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        try {
+            return MAPPER.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
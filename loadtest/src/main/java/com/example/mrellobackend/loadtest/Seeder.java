@@ -0,0 +1,105 @@
+package com.example.mrellobackend.loadtest;
+
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.dto.BoardCreateDto;
+import com.example.mrellobackend.dto.BoardDto;
+import com.example.mrellobackend.dto.BoardSnapshotDto;
+import com.example.mrellobackend.dto.ColumnCreateDto;
+import com.example.mrellobackend.dto.ColumnDto;
+import com.example.mrellobackend.dto.ColumnSnapshotDto;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.dto.TaskImportDto;
+import com.example.mrellobackend.dto.TaskImportResultDto;
+import com.example.mrellobackend.dto.WorkspaceCreateDto;
+import com.example.mrellobackend.dto.WorkspaceDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the data set through the public API only: users register through the auth endpoint,
+ * then each creates a workspace, its boards and columns, and bulk-imports the tasks.
+ */
+final class Seeder {
+    // Every write bumps its board's version, so writes to one board queue on that row anyway
+    private static final int SEED_CONCURRENCY = 8;
+
+    private final LoadTestConfig config;
+
+    Seeder(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    record SeededBoard(MrelloClient client, Long boardId, List<Long> columnIds, List<Long> taskIds) {
+    }
+
+    List<SeededBoard> seed(String baseUrl) throws Exception {
+        List<Future<SeededBoard>> boards = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(SEED_CONCURRENCY, Thread.ofVirtual().factory())) {
+            for (int user = 0; user < config.users(); user++) {
+                MrelloClient client = MrelloClient.register(baseUrl, "loadtest-" + user);
+                WorkspaceDto workspace = client.post("/api/v1/workspaces",
+                        WorkspaceCreateDto.builder().title("Load test " + user).build(), WorkspaceDto.class);
+                // Board access is checked against the member list, which does not include the owner
+                client.post("/api/v1/workspaces/" + workspace.getId() + "/members?userId=" + workspace.getOwnerId(),
+                        null, WorkspaceDto.class);
+                for (int board = 0; board < config.boardsPerUser(); board++) {
+                    long boardSeed = config.seed() + user * 1000L + board;
+                    boards.add(executor.submit(() -> seedBoard(client, workspace.getId(), new Random(boardSeed))));
+                }
+            }
+        }
+        List<SeededBoard> seeded = new ArrayList<>();
+        for (Future<SeededBoard> board : boards) {
+            seeded.add(board.get());
+        }
+        return seeded;
+    }
+
+    private SeededBoard seedBoard(MrelloClient client, Long workspaceId, Random random) {
+        BoardDto board = client.post("/api/v1/boards?workspaceId=" + workspaceId,
+                BoardCreateDto.builder().title("Board " + random.nextInt(1000)).build(), BoardDto.class);
+
+        List<Long> columnIds = new ArrayList<>();
+        for (int column = 0; column < config.columnsPerBoard(); column++) {
+            ColumnDto created = client.post("/api/v1/columns",
+                    ColumnCreateDto.builder().title("Column " + column).boardId(board.getId()).build(), ColumnDto.class);
+            columnIds.add(created.getId());
+
+            int tasks = config.tasksPerBoard() / config.columnsPerBoard()
+                    + (column < config.tasksPerBoard() % config.columnsPerBoard() ? 1 : 0);
+            TaskImportResultDto result = client.postNdjson("/api/v1/tasks/import?columnId=" + created.getId(),
+                    tasks(tasks, random), TaskImportResultDto.class);
+            if (result.getFailed() > 0) {
+                throw new IllegalStateException("Seeding failed for " + result.getFailed() + " tasks: " + result.getErrors());
+            }
+        }
+
+        BoardSnapshotDto snapshot = client.get("/api/v1/boards/" + board.getId() + "/snapshot", BoardSnapshotDto.class);
+        List<Long> taskIds = snapshot.getColumns().stream()
+                .map(ColumnSnapshotDto::getTasks)
+                .flatMap(List::stream)
+                .map(TaskDto::getId)
+                .toList();
+        return new SeededBoard(client, board.getId(), columnIds, taskIds);
+    }
+
+    private static List<TaskImportDto> tasks(int count, Random random) {
+        TaskStatus[] statuses = TaskStatus.values();
+        List<TaskImportDto> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(TaskImportDto.builder()
+                    .title("Task " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36))
+                    .description(random.nextBoolean() ? "Seeded by the load test, row " + i : null)
+                    .status(statuses[random.nextInt(statuses.length)].name())
+                    .dueDate(random.nextInt(3) == 0 ? LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)) : null)
+                    .build());
+        }
+        return tasks;
+    }
+}
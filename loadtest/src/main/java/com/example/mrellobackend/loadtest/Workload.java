@@ -0,0 +1,106 @@
+package com.example.mrellobackend.loadtest;
+
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.dto.TaskBulkUpdateDto;
+import com.example.mrellobackend.loadtest.Seeder.SeededBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The request mix one load generator client issues against its board. Operations are drawn
+ * from the configured weights with the client's own seeded {@link Random}, so the sequence each
+ * client sends is the same on every run.
+ */
+final class Workload {
+    private static final int COLUMN_PAGE_SIZE = 50;
+    private static final int BULK_SIZE = 10;
+
+    enum Operation {
+        SNAPSHOT("GET /boards/{id}/snapshot"),
+        COLUMN_PAGE("GET /tasks/column/{id}"),
+        TASK("GET /tasks/{id}"),
+        MOVE("PATCH /tasks/{id}/move"),
+        REORDER("PATCH /tasks/{id}/reorder"),
+        BULK_UPDATE("PUT /tasks/bulk");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+    }
+
+    private final Operation[] weighted;
+
+    Workload(Map<Operation, Integer> mix) {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix is empty");
+        }
+        this.weighted = operations.toArray(Operation[]::new);
+    }
+
+    Operation next(Random random) {
+        return weighted[random.nextInt(weighted.length)];
+    }
+
+    /**
+     * @return the response status
+     */
+    static int execute(Operation operation, SeededBoard board, Random random) {
+        MrelloClient client = board.client();
+        return switch (operation) {
+            case SNAPSHOT -> client.send("GET", "/api/v1/boards/" + board.boardId() + "/snapshot", null);
+            case COLUMN_PAGE -> client.send("GET", "/api/v1/tasks/column/" + randomColumn(board, random)
+                    + "?size=" + COLUMN_PAGE_SIZE, null);
+            case TASK -> client.send("GET", "/api/v1/tasks/" + randomTask(board, random), null);
+            case MOVE -> client.send("PATCH", "/api/v1/tasks/" + randomTask(board, random) + "/move?newColumnId="
+                    + randomColumn(board, random) + "&newPosition=" + randomPosition(board, random), null);
+            case REORDER -> client.send("PATCH", "/api/v1/tasks/" + randomTask(board, random)
+                    + "/reorder?newPosition=" + randomPosition(board, random), null);
+            case BULK_UPDATE -> client.send("PUT", "/api/v1/tasks/bulk", bulkUpdate(board, random));
+        };
+    }
+
+    private static List<TaskBulkUpdateDto> bulkUpdate(SeededBoard board, Random random) {
+        TaskStatus[] statuses = TaskStatus.values();
+        List<TaskBulkUpdateDto> updates = new ArrayList<>(BULK_SIZE);
+        List<Long> picked = new ArrayList<>(BULK_SIZE);
+        while (picked.size() < Math.min(BULK_SIZE, board.taskIds().size())) {
+            Long taskId = randomTask(board, random);
+            if (!picked.contains(taskId)) {
+                picked.add(taskId);
+                updates.add(TaskBulkUpdateDto.builder()
+                        .id(taskId)
+                        .status(statuses[random.nextInt(statuses.length)].name())
+                        .build());
+            }
+        }
+        return updates;
+    }
+
+    private static Long randomTask(SeededBoard board, Random random) {
+        return board.taskIds().get(random.nextInt(board.taskIds().size()));
+    }
+
+    private static Long randomColumn(SeededBoard board, Random random) {
+        return board.columnIds().get(random.nextInt(board.columnIds().size()));
+    }
+
+    // Anywhere in an average-sized column; the service clamps positions past the end
+    private static int randomPosition(SeededBoard board, Random random) {
+        return random.nextInt(board.taskIds().size() / board.columnIds().size() + 1);
+    }
+}
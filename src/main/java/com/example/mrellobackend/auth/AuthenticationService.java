@@ -1,8 +1,11 @@
 package com.example.mrellobackend.auth;
 
 import com.example.mrellobackend.auth.config.JwtService;
+import com.example.mrellobackend.auth.user.CurrentUserContext;
 import com.example.mrellobackend.auth.user.User;
 import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.auth.user.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,12 +15,15 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "mrello.service", histogram = true)
 public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserService userService;
+    private final CurrentUserContext currentUserContext;
 
     public AuthenticationResponse register(RegisterRequest request) {
         // Create user from request
@@ -33,7 +39,6 @@ public class AuthenticationService {
 
         // Generate JWT token
         String token = jwtService.generateToken(user);
-        System.out.println("Generated Token: " + token);
 
         return AuthenticationResponse.builder()
                 .token(token)
@@ -55,11 +60,14 @@ public class AuthenticationService {
 
         // step 3: generate token
         String token = jwtService.generateToken(user);
-        System.out.println("Generated Token: " + token);
 
         return AuthenticationResponse.builder()
                 .token(token)
                 .build();
     }
+
+    public void logout() {
+        userService.revokeTokens(currentUserContext.getCurrentUser().getId());
+    }
 }
 
@@ -1,11 +1,17 @@
 package com.example.mrellobackend.auth.config;
 
+import com.example.mrellobackend.auth.user.AuthenticatedUser;
+import com.example.mrellobackend.auth.user.TokenVersionService;
+import com.example.mrellobackend.auth.user.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,14 +19,22 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    //resolved by name: the MVC resolver chain that applies the controller advice
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    //build the principal from the token claims instead of loading the user on every request
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -29,7 +43,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userName;
         //Check JWT token if missing or not
         if (authHeader == null || !authHeader.startsWith("Bearer ")){
             filterChain.doFilter(request, response);
@@ -37,12 +50,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         //extract this token from my authentication header
         jwt = authHeader.substring(7);
-        //extract the userName from JWT token
-        userName = jwtService.extractUsername(jwt);
+        //verify signature and expiry once, then read the userName from the verified claims
+        Optional<Claims> claims = jwtService.verifyToken(jwt);
+        String userName = claims.map(Claims::getSubject).orElse(null);
         if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null){
             //generate auth token for security context holder
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
-            if (jwtService.isTokenValid(jwt, userDetails)){
+            UserDetails userDetails;
+            try {
+                userDetails = resolvePrincipal(claims.get());
+            } catch (DataAccessResourceFailureException e) {
+                //no pooled connection for the user lookup, answer 503 like any other request
+                handlerExceptionResolver.resolveException(request, response, null, e);
+                return;
+            }
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -57,5 +78,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class);
+        if (statelessPrincipal && userId != null && tokenVersion != null) {
+            //trust the verified claims, only make sure the token has not been revoked
+            return tokenVersionService.isCurrent(userId, tokenVersion)
+                    ? new AuthenticatedUser(userId, claims.getSubject())
+                    : null;
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        //tokens issued before the last revocation are rejected
+        if (tokenVersion != null && userDetails instanceof User user && user.getTokenVersion() != tokenVersion) {
+            return null;
+        }
+        return userDetails;
+    }
 }
 
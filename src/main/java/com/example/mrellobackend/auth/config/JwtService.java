@@ -1,25 +1,79 @@
 package com.example.mrellobackend.auth.config;
 
+import com.example.mrellobackend.auth.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${secret.key}")
-    private String SECRET_KEY;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    // Recently verified tokens keyed by their SHA-256 hash, kept until the token expires.
+    // Null when the verification cache is disabled.
+    private final Cache<String, Claims> verifiedTokens;
+    // mrello.jwt.verifications by outcome: signature checked, answered from the cache, or rejected
+    private final Counter parsedVerifications;
+    private final Counter cachedVerifications;
+    private final Counter rejectedVerifications;
+
+    public JwtService(
+            @Value("${secret.key}") String secretKey,
+            @Value("${jwt.verification-cache.enabled:false}") boolean verificationCacheEnabled,
+            @Value("${jwt.verification-cache.max-size:10000}") long verificationCacheSize,
+            MeterRegistry meterRegistry
+    ) {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = verificationCacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(verificationCacheSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+        this.parsedVerifications = verificationCounter(meterRegistry, "parsed");
+        this.cachedVerifications = verificationCounter(meterRegistry, "cached");
+        this.rejectedVerifications = verificationCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter verificationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mrello.jwt.verifications")
+                .description("Bearer token verifications")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     public String extractUsername(String token){
         return extractClaim(token, Claims::getSubject);
     }
@@ -30,27 +84,62 @@ public class JwtService {
             Map<String, Object> extraClaims,
             UserDetails userDetails
     ){
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 //time for token validation
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String userName = extractUsername(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry of the token with a single parse.
+     *
+     * @return the token claims, or empty if the token is malformed, tampered with or expired
+     */
+    public Optional<Claims> verifyToken(String token) {
+        if (verifiedTokens == null) {
+            return parseVerified(token);
+        }
+        String tokenHash = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && !isTokenExpired(cached)) {
+            cachedVerifications.increment();
+            return Optional.of(cached);
+        }
+        Optional<Claims> claims = parseVerified(token);
+        claims.ifPresent(verified -> verifiedTokens.put(tokenHash, verified));
+        return claims;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Optional<Claims> parseVerified(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            if (!isTokenExpired(claims)) {
+                parsedVerifications.increment();
+                return Optional.of(claims);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // counted as rejected below
+        }
+        rejectedVerifications.increment();
+        return Optional.empty();
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver){
@@ -58,17 +147,36 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     private Claims extractAllClaims(String token){
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
 
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
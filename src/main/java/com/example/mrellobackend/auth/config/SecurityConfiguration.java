@@ -1,17 +1,26 @@
 package com.example.mrellobackend.auth.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 @Configuration
@@ -19,17 +28,48 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @RequiredArgsConstructor
 public class SecurityConfiguration {
     private final String[] PUBLIC_URLS = {
-            "/api/v1/auth/**", "/welcome"
+            "/api/v1/auth/register", "/api/v1/auth/login", "/welcome", "/actuator/health/**"
     };
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
 
+    /**
+     * The Prometheus scrape is answered only to the configured scraper over HTTP Basic, never to
+     * application users. Without a scrape password the endpoint refuses every request.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http,
+                                                  PasswordEncoder passwordEncoder,
+                                                  @Value("${mrello.metrics.scrape-username:prometheus}") String username,
+                                                  @Value("${mrello.metrics.scrape-password:}") String password) throws Exception {
+        DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider();
+        scraperProvider.setUserDetailsService(password.isBlank()
+                ? new InMemoryUserDetailsManager()
+                : new InMemoryUserDetailsManager(User.withUsername(username)
+                        .password(passwordEncoder.encode(password))
+                        .roles("METRICS")
+                        .build()));
+        scraperProvider.setPasswordEncoder(passwordEncoder);
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(req -> req.anyRequest().hasRole("METRICS"))
+                .httpBasic(withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
+                .authenticationManager(new ProviderManager(scraperProvider));
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(req ->
                         req.requestMatchers(PUBLIC_URLS)
+                                .permitAll()
+                                // Async dispatches (streamed responses) continue a request that was already authorized
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
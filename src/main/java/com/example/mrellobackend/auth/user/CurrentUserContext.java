@@ -0,0 +1,51 @@
+package com.example.mrellobackend.auth.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the authenticated {@link User} once per request.
+ * <p>
+ * {@code JwtAuthenticationFilter} already loads the user and stores it as the principal of the
+ * security context, so services read it from there instead of querying the users table again.
+ * In stateless principal mode the principal is an {@link AuthenticatedUser} and only a lazy reference
+ * is created. Other principals (e.g. test users) are looked up once and memoized on the current request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserContext {
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserContext.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("User not found!");
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return user;
+        }
+
+        // Stateless principals only carry the id: hand out a lazy reference, which services
+        // use for ids and associations without ever loading the row.
+        User user = authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? userRepository.getReferenceById(principal.getId())
+                : userRepository.findByUsername(authentication.getName())
+                        .orElseThrow(() -> new RuntimeException("User not found!"));
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.mrellobackend.auth.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Tracks the current token version of each user so revoked tokens can be rejected without
+ * querying the users table on every request. Versions are cached for a short TTL; revoking
+ * through this service takes effect immediately on this instance and within the TTL elsewhere.
+ */
+@Service
+public class TokenVersionService {
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Optional<Integer>> tokenVersions;
+
+    public TokenVersionService(
+            UserRepository userRepository,
+            @Value("${jwt.token-version-cache.max-size:100000}") long maxSize,
+            @Value("${jwt.token-version-cache.ttl:30s}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userRepository::findTokenVersionById);
+    }
+
+    /**
+     * @return true if the user still exists and the token was issued for its current version
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        return tokenVersions.get(userId)
+                .map(current -> current.equals(tokenVersion))
+                .orElse(false);
+    }
+
+    public void revokeTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        tokenVersions.invalidate(userId);
+    }
+}
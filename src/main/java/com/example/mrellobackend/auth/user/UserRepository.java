@@ -15,4 +15,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Modifying
     @Query("update User u set u.password = ?2 where u.username = ?1")
     void updatePassword(String userName, String password);
+
+    @Query("select u.tokenVersion from User u where u.id = ?1")
+    Optional<Integer> findTokenVersionById(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = ?1")
+    int incrementTokenVersion(Long userId);
 }
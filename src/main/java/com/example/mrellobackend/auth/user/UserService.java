@@ -9,6 +9,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
 
     public Optional<User> getUserById(Long userId) {
         return userRepository.findById(userId);
@@ -21,4 +22,9 @@ public class UserService {
     public Optional<User> getUserByUserName(String username) {
         return userRepository.findByUsername(username);
     }
+
+    // Cuts the user off: every token issued so far stops being accepted
+    public void revokeTokens(Long userId) {
+        tokenVersionService.revokeTokens(userId);
+    }
 }
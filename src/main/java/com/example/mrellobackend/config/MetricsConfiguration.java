@@ -0,0 +1,78 @@
+package com.example.mrellobackend.config;
+
+import com.example.mrellobackend.service.BoardEventOutbox;
+import com.example.mrellobackend.service.WorkspaceMembershipService;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service timers and application metrics on top of the ones Spring Boot binds on its own
+ * (HTTP requests, Hikari pool, Hibernate statistics, JVM).
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    // Turns @Timed on the service classes into one timer per public method, tagged with class and method
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder membershipCacheMetrics(WorkspaceMembershipService membershipService) {
+        return registry -> {
+            FunctionCounter.builder("mrello.membership.cache.requests", membershipService,
+                            service -> service.getStats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("mrello.membership.cache.requests", membershipService,
+                            service -> service.getStats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("mrello.membership.cache.evictions", membershipService,
+                            service -> service.getStats().evictionCount())
+                    .register(registry);
+            Gauge.builder("mrello.membership.cache.size", membershipService, WorkspaceMembershipService::getSize)
+                    .register(registry);
+        };
+    }
+
+    // cache.gets (hit/miss), cache.puts, cache.evictions and cache.size per second-level cache region;
+    // Hibernate's own view of the same regions is in hibernate.second.level.cache.requests
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> secondLevelCacheManager.getCacheNames().forEach(region ->
+                CaffeineCacheMetrics.monitor(registry, caffeineCache(secondLevelCacheManager.getCache(region)), region,
+                        "cache.manager", "hibernate"));
+    }
+
+    // The Caffeine JCache provider backs every region with a native cache; typed here so the binder call is checked
+    private static Cache<?, ?> caffeineCache(javax.cache.Cache<?, ?> region) {
+        return region.unwrap(Cache.class);
+    }
+
+    @Bean
+    public MeterBinder outboxMetrics(BoardEventOutbox boardEventOutbox) {
+        return registry -> {
+            FunctionCounter.builder("mrello.outbox.deliveries", boardEventOutbox, BoardEventOutbox::getDeliveredCount)
+                    .tag("result", "delivered")
+                    .register(registry);
+            FunctionCounter.builder("mrello.outbox.deliveries", boardEventOutbox, BoardEventOutbox::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+            TimeGauge.builder("mrello.outbox.lag", boardEventOutbox, TimeUnit.MILLISECONDS, BoardEventOutbox::getLagMillis)
+                    .register(registry);
+        };
+    }
+}
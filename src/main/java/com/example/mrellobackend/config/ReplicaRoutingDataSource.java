@@ -0,0 +1,150 @@
+package com.example.mrellobackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends the connections of read-only transactions to the replicas, round robin, and everything
+ * else to the primary: read-write transactions, statements outside a transaction, and read-only
+ * transactions of a user who committed a write less than the read-your-writes window ago.
+ * Recent writers are remembered per application instance, so the window has to cover the
+ * replicas' usual lag.
+ * <p>
+ * Within one request every read-only transaction uses the replica the first one got. A replica
+ * only moves forward, so an ETag read before the body is never newer than the body.
+ * <p>
+ * Reads whose answer is cached or decides access for other users than the writer, such as
+ * workspace membership, run through {@link #readFromPrimary} instead.
+ * <p>
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: the choice is made when a connection
+ * is fetched, and only the lazy proxy fetches it after the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    private static final String PRIMARY = "primary";
+    private static final String REQUEST_ROUTE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".route";
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = replicas;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (request != null) {
+                request.removeAttribute(REQUEST_ROUTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            }
+            if (username != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(username, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (PRIMARY_READ.get() != null) {
+            return PRIMARY;
+        }
+        Object route = request != null ? request.getAttribute(REQUEST_ROUTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        if (route == null) {
+            route = username != null && recentWriters.getIfPresent(username) != null
+                    ? PRIMARY
+                    : Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            if (request != null) {
+                request.setAttribute(REQUEST_ROUTE_ATTRIBUTE, route, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        if (!PRIMARY.equals(route)) {
+            readSecondLevelCacheOnly();
+        }
+        return route;
+    }
+
+    /**
+     * Sends the connections fetched by {@code read} to the primary without counting as a write.
+     * Only connections fetched inside {@code read} are affected, so it has to open its own
+     * transaction rather than join one that may already hold a replica connection.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_READ.remove();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? null
+                : authentication.getName();
+    }
+
+    // Rows from a lagging replica can be older than what the second-level cache holds, so the
+    // transaction may read the cache but must not put anything into it
+    private static void readSecondLevelCacheOnly() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode cacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        session.setCacheMode(cacheMode);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.mrellobackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache, held in Caffeine through JCache. Every region the
+ * entities and queries name is created here with an entry limit and a time to live, overridable
+ * with {@code mrello.l2-cache.<region>.max-size} and {@code .ttl}; Hibernate refuses to start if
+ * a mapping names a region missing from this list.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+    private static final String PROPERTY_PREFIX = "mrello.l2-cache.";
+
+    private record Region(long maxSize, Duration ttl) {
+    }
+
+    private static final Map<String, Region> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put("users", new Region(100_000, Duration.ofMinutes(30)));
+        REGIONS.put("workspaces", new Region(20_000, Duration.ofMinutes(30)));
+        REGIONS.put("workspace-members", new Region(20_000, Duration.ofMinutes(30)));
+        REGIONS.put("boards", new Region(50_000, Duration.ofMinutes(30)));
+        REGIONS.put("columns", new Region(200_000, Duration.ofMinutes(30)));
+        REGIONS.put("board-columns", new Region(50_000, Duration.ofMinutes(10)));
+        REGIONS.put("workspace-boards", new Region(20_000, Duration.ofMinutes(10)));
+        REGIONS.put("default-query-results-region", new Region(10_000, Duration.ofMinutes(10)));
+        // Cached query results are checked against the last write to each table recorded here, so
+        // these entries (one per table) must outlive every result: no expiry
+        REGIONS.put("default-update-timestamps-region", new Region(10_000, null));
+    }
+
+    // The provider hands out one manager per URI, so each application context gets its own
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("mrello-l2-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        REGIONS.forEach((name, defaults) -> {
+            long maxSize = environment.getProperty(PROPERTY_PREFIX + name + ".max-size", Long.class, defaults.maxSize());
+            Duration ttl = environment.getProperty(PROPERTY_PREFIX + name + ".ttl", Duration.class, defaults.ttl());
+            cacheManager.createCache(name, regionConfiguration(maxSize, ttl));
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hibernate caches its own disassembled entries, so copying them on every read buys nothing
+        configuration.setStoreByValue(false);
+        // Hit, miss and eviction counts for MetricsConfiguration
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
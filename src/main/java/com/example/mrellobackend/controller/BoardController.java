@@ -1,14 +1,20 @@
 package com.example.mrellobackend.controller;
 
+import com.example.mrellobackend.dto.BoardChangesDto;
 import com.example.mrellobackend.dto.BoardCreateDto;
 import com.example.mrellobackend.dto.BoardDto;
+import com.example.mrellobackend.dto.BoardSnapshotDto;
 import com.example.mrellobackend.entity.Board;
 import com.example.mrellobackend.service.BoardService;
+import com.example.mrellobackend.service.BoardVersionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,6 +24,7 @@ import java.util.List;
 public class BoardController {
 
     private final BoardService boardService;
+    private final BoardVersionService boardVersionService;
 
     @PostMapping
     public ResponseEntity<BoardDto> createBoard(
@@ -29,9 +36,45 @@ public class BoardController {
     }
 
     @GetMapping("/{boardId}")
-    public ResponseEntity<BoardDto> getBoardById(@PathVariable Long boardId) {
+    public ResponseEntity<BoardDto> getBoardById(@PathVariable Long boardId, WebRequest request) {
+        String eTag = boardVersionService.getBoardETag(boardId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         BoardDto board = boardService.getBoardById(boardId);
-        return ResponseEntity.ok(board);
+        return ResponseEntity.ok().eTag(eTag).body(board);
+    }
+
+    @GetMapping("/{boardId}/snapshot")
+    public ResponseEntity<BoardSnapshotDto> getBoardSnapshot(@PathVariable Long boardId, WebRequest request) {
+        // Read before the body: a change in between only costs the client one extra download
+        String eTag = boardVersionService.getBoardETag(boardId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        BoardSnapshotDto snapshot = boardService.getBoardSnapshot(boardId);
+        return ResponseEntity.ok().eTag(eTag).body(snapshot);
+    }
+
+    @GetMapping("/{boardId}/changes")
+    public ResponseEntity<BoardChangesDto> getBoardChanges(
+            @PathVariable Long boardId,
+            @RequestParam long since
+    ) {
+        BoardChangesDto changes = boardService.getBoardChanges(boardId, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(path = "/{boardId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBoardEvents(@PathVariable Long boardId) {
+        SseEmitter emitter = boardService.subscribeToBoardEvents(boardId);
+        return ResponseEntity.ok(emitter);
+    }
+
+    @PostMapping("/{boardId}/duplicate")
+    public ResponseEntity<BoardDto> duplicateBoard(@PathVariable Long boardId) {
+        BoardDto duplicatedBoard = boardService.duplicateBoard(boardId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(duplicatedBoard);
     }
 
     @GetMapping("/workspace/{workspaceId}")
@@ -4,11 +4,13 @@ import com.example.mrellobackend.dto.ColumnCreateDto;
 import com.example.mrellobackend.dto.ColumnDto;
 import com.example.mrellobackend.dto.ColumnUpdateDto;
 import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.service.BoardVersionService;
 import com.example.mrellobackend.service.ColumnService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +20,7 @@ import java.util.List;
 public class ColumnController {
 
     private final ColumnService columnService;
+    private final BoardVersionService boardVersionService;
 
     @PostMapping
     public ResponseEntity<ColumnDto> createColumn(@RequestBody ColumnCreateDto columnDto) {
@@ -26,17 +29,26 @@ public class ColumnController {
     }
 
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<ColumnDto>> getColumnsByBoard(@PathVariable Long boardId) {
+    public ResponseEntity<List<ColumnDto>> getColumnsByBoard(@PathVariable Long boardId, WebRequest request) {
+        String eTag = boardVersionService.getBoardETag(boardId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<ColumnDto> columns = columnService.getAllColumnsInBoard(boardId);
-        return ResponseEntity.ok(columns);
+        return ResponseEntity.ok().eTag(eTag).body(columns);
     }
 
     @GetMapping("/{columnId}")
     public ResponseEntity<ColumnDto> getColumnById(
-            @PathVariable Long columnId
+            @PathVariable Long columnId,
+            WebRequest request
     ) {
+        String eTag = boardVersionService.getColumnETag(columnId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         ColumnDto column = columnService.getColumnById(columnId);
-        return ResponseEntity.ok(column);
+        return ResponseEntity.ok().eTag(eTag).body(column);
     }
 
     @PutMapping("/{columnId}")
@@ -58,9 +70,21 @@ public class ColumnController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/board/{boardId}/order")
+    public ResponseEntity<Void> reorderBoardColumns(
+            @PathVariable Long boardId,
+            @RequestBody List<Long> columnIds
+    ) {
+        columnService.reorderBoardColumns(boardId, columnIds);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{columnId}")
-    public ResponseEntity<Void> deleteColumn(@PathVariable Long columnId) {
-        columnService.deleteColumn(columnId);
+    public ResponseEntity<Void> deleteColumn(
+            @PathVariable Long columnId,
+            @RequestParam(required = false) Long version
+    ) {
+        columnService.deleteColumn(columnId, version);
         return ResponseEntity.noContent().build();
     }
 
@@ -73,10 +97,15 @@ public class ColumnController {
     }
     @GetMapping("/board/{boardId}/count")
     public ResponseEntity<Integer> getColumnsCount(
-            @PathVariable Long boardId
+            @PathVariable Long boardId,
+            WebRequest request
     ) {
+        String eTag = boardVersionService.getBoardETag(boardId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         int count = columnService.getColumnsCountInBoard(boardId);
-        return ResponseEntity.ok(count);
+        return ResponseEntity.ok().eTag(eTag).body(count);
     }
     @PostMapping("/{columnId}/duplicate")
     public ResponseEntity<ColumnDto> duplicateColumn(
@@ -1,16 +1,24 @@
 package com.example.mrellobackend.controller;
 
+import com.example.mrellobackend.dao.TaskFileFormat;
 import com.example.mrellobackend.dto.TaskBulkUpdateDto;
 import com.example.mrellobackend.dto.TaskCreateDto;
 import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.dto.TaskImportResultDto;
+import com.example.mrellobackend.dto.TaskPageDto;
 import com.example.mrellobackend.dto.TaskUpdateDto;
+import com.example.mrellobackend.exception.BadRequestException;
+import com.example.mrellobackend.service.BoardVersionService;
+import com.example.mrellobackend.service.TaskImportService;
 import com.example.mrellobackend.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,6 +26,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final BoardVersionService boardVersionService;
 
     @PostMapping
     public ResponseEntity<TaskDto> createTask(@Valid @RequestBody TaskCreateDto taskDto) {
@@ -25,16 +35,39 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<TaskPageDto> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        TaskPageDto tasks = taskService.searchTasks(q, cursor, size);
+        return ResponseEntity.ok(tasks);
+    }
+
     @GetMapping("/{taskId}")
-    public ResponseEntity<TaskDto> getTaskById(@PathVariable Long taskId) {
+    public ResponseEntity<TaskDto> getTaskById(@PathVariable Long taskId, WebRequest request) {
+        String eTag = boardVersionService.getTaskETag(taskId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         TaskDto task = taskService.getTaskById(taskId);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(eTag).body(task);
     }
 
     @GetMapping("/column/{columnId}")
-    public ResponseEntity<List<TaskDto>> getTasksByColumn(@PathVariable Long columnId) {
-        List<TaskDto> tasks = taskService.getTasksByColumnId(columnId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<TaskPageDto> getTasksByColumn(
+            @PathVariable Long columnId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request
+    ) {
+        String eTag = boardVersionService.getColumnETag(columnId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        TaskPageDto tasks = taskService.getTasksByColumnId(columnId, cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
     }
 
     @PutMapping("/{taskId}")
@@ -47,8 +80,11 @@ public class TaskController {
     }
 
     @DeleteMapping("/{taskId}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long taskId) {
-        taskService.deleteTask(taskId);
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long version
+    ) {
+        taskService.deleteTask(taskId, version);
         return ResponseEntity.noContent().build();
     }
 
@@ -56,36 +92,40 @@ public class TaskController {
     public ResponseEntity<TaskDto> moveTask(
             @PathVariable Long taskId,
             @RequestParam Long newColumnId,
-            @RequestParam(required = false) Integer newPosition
+            @RequestParam(required = false) Integer newPosition,
+            @RequestParam(required = false) Long version
     ) {
-        TaskDto movedTask = taskService.moveTask(taskId, newColumnId, newPosition);
+        TaskDto movedTask = taskService.moveTask(taskId, newColumnId, newPosition, version);
         return ResponseEntity.ok(movedTask);
     }
 
     @PatchMapping("/{taskId}/reorder")
     public ResponseEntity<Void> reorderTask(
             @PathVariable Long taskId,
-            @RequestParam Integer newPosition
+            @RequestParam Integer newPosition,
+            @RequestParam(required = false) Long version
     ) {
-        taskService.reorderTask(taskId, newPosition);
+        taskService.reorderTask(taskId, newPosition, version);
         return ResponseEntity.ok().build();
     }
 
     @PatchMapping("/{taskId}/assignee")
     public ResponseEntity<TaskDto> changeAssignee(
             @PathVariable Long taskId,
-            @RequestParam Long userId
+            @RequestParam Long userId,
+            @RequestParam(required = false) Long version
     ) {
-        TaskDto updatedTask = taskService.changeAssignee(taskId, userId);
+        TaskDto updatedTask = taskService.changeAssignee(taskId, userId, version);
         return ResponseEntity.ok(updatedTask);
     }
 
     @PatchMapping("/{taskId}/status")
     public ResponseEntity<TaskDto> updateStatus(
             @PathVariable Long taskId,
-            @RequestParam String status
+            @RequestParam String status,
+            @RequestParam(required = false) Long version
     ) {
-        TaskDto updatedTask = taskService.updateStatus(taskId, status);
+        TaskDto updatedTask = taskService.updateStatus(taskId, status, version);
         return ResponseEntity.ok(updatedTask);
     }
 
@@ -97,15 +137,43 @@ public class TaskController {
         return ResponseEntity.ok(updatedTasks);
     }
 
+    /**
+     * Imports an NDJSON or CSV file of tasks into a column or, with per-row column ids or
+     * titles, into a board. Exactly one of columnId and boardId must be given.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResultDto> importTasks(
+            @RequestParam(required = false) Long columnId,
+            @RequestParam(required = false) Long boardId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body
+    ) {
+        if ((columnId == null) == (boardId == null)) {
+            throw new BadRequestException("Specify either columnId or boardId");
+        }
+        TaskFileFormat fileFormat = TaskFileFormat.parse(format);
+        TaskImportResultDto result = columnId != null
+                ? taskImportService.importIntoColumn(columnId, body, fileFormat)
+                : taskImportService.importIntoBoard(boardId, body, fileFormat);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TaskDto>> getTasksByAssignee(@PathVariable Long userId) {
-        List<TaskDto> tasks = taskService.getTasksByAssignee(userId);
+    public ResponseEntity<TaskPageDto> getTasksByAssignee(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        TaskPageDto tasks = taskService.getTasksByAssignee(userId, cursor, size);
         return ResponseEntity.ok(tasks);
     }
 
     @GetMapping("/due-soon")
-    public ResponseEntity<List<TaskDto>> getDueSoonTasks() {
-        List<TaskDto> tasks = taskService.getDueSoonTasks();
+    public ResponseEntity<TaskPageDto> getDueSoonTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        TaskPageDto tasks = taskService.getDueSoonTasks(cursor, size);
         return ResponseEntity.ok(tasks);
     }
 }
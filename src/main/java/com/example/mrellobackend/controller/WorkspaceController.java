@@ -1,11 +1,17 @@
 package com.example.mrellobackend.controller;
 
-import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.dao.TaskFileFormat;
+import com.example.mrellobackend.dto.WorkspaceCreateDto;
+import com.example.mrellobackend.dto.WorkspaceDto;
+import com.example.mrellobackend.service.TaskExportService;
 import com.example.mrellobackend.service.WorkspaceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,31 +21,48 @@ import java.util.List;
 public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
+    private final TaskExportService taskExportService;
 
     @PostMapping
-    public ResponseEntity<Workspace> createWorkspace(@RequestBody Workspace workspace) {
-        Workspace createdWorkspace = workspaceService.createWorkspace(workspace);
+    public ResponseEntity<WorkspaceDto> createWorkspace(@RequestBody WorkspaceCreateDto workspaceDto) {
+        WorkspaceDto createdWorkspace = workspaceService.createWorkspace(workspaceDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdWorkspace);
     }
 
     @GetMapping("/my-workspaces")
-    public ResponseEntity<List<Workspace>> getMyWorkspaces() {
-        List<Workspace> workspaces = workspaceService.getCurrentUserWorkspaces();
+    public ResponseEntity<List<WorkspaceDto>> getMyWorkspaces() {
+        List<WorkspaceDto> workspaces = workspaceService.getCurrentUserWorkspaces();
         return ResponseEntity.ok(workspaces);
     }
 
     @GetMapping("/{workspaceId}")
-    public ResponseEntity<Workspace> getWorkspace(@PathVariable Long workspaceId) {
-        Workspace workspace = workspaceService.getWorkspaceById(workspaceId);
+    public ResponseEntity<WorkspaceDto> getWorkspace(@PathVariable Long workspaceId) {
+        WorkspaceDto workspace = workspaceService.getWorkspaceById(workspaceId);
         return ResponseEntity.ok(workspace);
     }
 
+    @GetMapping("/{workspaceId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @PathVariable Long workspaceId,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        TaskFileFormat exportFormat = TaskFileFormat.parse(format);
+        StreamingResponseBody body = taskExportService.exportWorkspaceTasks(workspaceId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("workspace-" + workspaceId + "-tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PostMapping("/{workspaceId}/members")
-    public ResponseEntity<Workspace> addMember(
+    public ResponseEntity<WorkspaceDto> addMember(
             @PathVariable Long workspaceId,
             @RequestParam Long userId
     ) {
-        Workspace updatedWorkspace = workspaceService.addMember(workspaceId, userId);
+        WorkspaceDto updatedWorkspace = workspaceService.addMember(workspaceId, userId);
         return ResponseEntity.ok(updatedWorkspace);
     }
     @DeleteMapping("/{workspaceId}")
@@ -0,0 +1,11 @@
+package com.example.mrellobackend.dao;
+
+public enum BoardChangeEntity {
+    BOARD,
+    COLUMN,
+    TASK,
+    // Every task of the column, for changes that add tasks in bulk (imports, duplicated columns)
+    COLUMN_TASKS,
+    // Only the column's task order, for columns a task was moved out of or deleted from
+    COLUMN_ORDER;
+}
@@ -0,0 +1,16 @@
+package com.example.mrellobackend.dao;
+
+public enum BoardEventType {
+    BOARD_UPDATED,
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_MOVED,
+    TASK_DELETED,
+    TASKS_UPDATED,
+    TASKS_IMPORTED,
+    COLUMN_CREATED,
+    COLUMN_UPDATED,
+    COLUMN_DELETED,
+    COLUMNS_UPDATED,
+    COLUMNS_REORDERED;
+}
@@ -0,0 +1,31 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed on a board since a client's version. Tasks and columns are listed in their current
+ * state; {@code taskOrder} gives the full task order of every column whose tasks changed or that a
+ * task left. When the requested version is no longer in the change log, only {@code snapshot} is
+ * set.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardChangesDto {
+    private Long boardId;
+    private Long version;
+    private BoardDto board;
+    private List<ColumnDto> columns;
+    private List<Long> deletedColumnIds;
+    private List<TaskDto> tasks;
+    private List<Long> deletedTaskIds;
+    private Map<Long, List<Long>> taskOrder;
+    private BoardSnapshotDto snapshot;
+}
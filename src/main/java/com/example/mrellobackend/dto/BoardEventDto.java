@@ -0,0 +1,31 @@
+package com.example.mrellobackend.dto;
+
+import com.example.mrellobackend.dao.BoardEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A change to a board, published after its transaction commits and streamed to the board's
+ * subscribers. {@code data} carries the changed task or column as returned by the REST API, and
+ * {@code version} is the board content version the change produced. {@code sourceColumnIds} lists
+ * the columns of this board that moved tasks left.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardEventDto {
+    private Long boardId;
+    private Long version;
+    private BoardEventType type;
+    private Long taskId;
+    private Long columnId;
+    private List<Long> sourceColumnIds;
+    private Object data;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardSnapshotDto {
+    private Long id;
+    private String title;
+    private String description;
+    private Long workspaceId;
+    private LocalDateTime createdAt;
+    // Pass as ?since= to /changes to fetch only what changed after this snapshot
+    private Long version;
+    private List<ColumnSnapshotDto> columns;
+}
@@ -17,4 +17,5 @@ public class ColumnDto {
     private Integer position;
     private Long boardId;
     private LocalDateTime createdAt;
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ColumnSnapshotDto {
+    private Long id;
+    private String title;
+    private Integer position;
+    private List<TaskDto> tasks;
+    private Long version;
+}
@@ -13,4 +13,6 @@ public class ColumnUpdateDto {
     private Long id; // Required for bulk updates
     private String title;
     private Integer position;
+    // Optional version the column was read at; stale updates are rejected with 409
+    private Long version;
 }
@@ -27,4 +27,7 @@ public class TaskBulkUpdateDto implements Serializable {
     private String status;
 
     private Long assignedUserId;
+
+    // Optional; this entry fails the whole batch with 409 if the task changed since this version
+    private Long version;
 }
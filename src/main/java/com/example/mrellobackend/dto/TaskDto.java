@@ -22,4 +22,5 @@ public class TaskDto {
     private LocalDate dueDate;
     private Long columnId;
     private Long assignedUserId;
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package com.example.mrellobackend.dto;
+
+import com.example.mrellobackend.dao.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"id", "boardId", "boardTitle", "columnId", "columnTitle", "position",
+        "title", "description", "status", "dueDate", "assignedUserId", "assignedUsername"})
+public class TaskExportDto {
+    private Long id;
+    private Long boardId;
+    private String boardTitle;
+    private Long columnId;
+    private String columnTitle;
+    private Integer position;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDate dueDate;
+    private Long assignedUserId;
+    private String assignedUsername;
+}
@@ -0,0 +1,28 @@
+package com.example.mrellobackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One row of an import file. Unknown fields are ignored, so an export file can be imported as-is.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskImportDto {
+    private String title;
+    private String description;
+    private String status;
+    private LocalDate dueDate;
+    private Long assignedUserId;
+    // Only read for board imports: the column is matched by id first, then by title
+    private Long columnId;
+    private String columnTitle;
+}
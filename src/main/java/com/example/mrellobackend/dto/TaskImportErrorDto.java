@@ -0,0 +1,16 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportErrorDto {
+    // 1-based line of the row in the uploaded file
+    private long line;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportResultDto {
+    private int imported;
+    private int failed;
+    // Only the first errors are listed; failed counts all of them
+    private List<TaskImportErrorDto> errors;
+}
@@ -0,0 +1,18 @@
+package com.example.mrellobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPageDto {
+    private List<TaskDto> items;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -18,4 +18,6 @@ public class TaskUpdateDto {
     private TaskStatus status;
     private LocalDate dueDate;
     private Long assignedUserId;
+    // Version the client last read; the update is rejected with 409 if the row changed since
+    private Long version;
 }
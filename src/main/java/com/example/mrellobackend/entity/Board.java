@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,10 +17,13 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(name = "boards")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "boards")
 public class Board {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_seq")
+    @SequenceGenerator(name = "boards_seq", sequenceName = "boards_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -27,6 +32,13 @@ public class Board {
 
     private LocalDateTime createdAt;
 
+    // Bumped with every change to the board, its columns or its tasks; used as the board's ETag.
+    // Only BoardRepository.incrementContentVersion writes it, and the copy in the second-level
+    // cache goes stale: read the current value with BoardRepository.findVersionByBoardId.
+    @Builder.Default
+    @jakarta.persistence.Column(updatable = false)
+    private long contentVersion = 0L;
+
     @ManyToOne
     @JoinColumn(name = "workspace_id")
     private Workspace workspace;
@@ -0,0 +1,47 @@
+package com.example.mrellobackend.entity;
+
+import com.example.mrellobackend.dao.BoardChangeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the board change log: the entity touched by the change that moved the board to
+ * {@code version}. Only ids are kept; the delta endpoint reads the entities' current state.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "board_changes", indexes = {
+        @Index(name = "idx_board_changes_board_version", columnList = "board_id, version"),
+        @Index(name = "idx_board_changes_changed_at", columnList = "changed_at")
+})
+public class BoardChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_changes_seq")
+    @SequenceGenerator(name = "board_changes_seq", sequenceName = "board_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @jakarta.persistence.Column(nullable = false)
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(name = "entity_type", nullable = false, length = 20)
+    private BoardChangeEntity entityType;
+
+    @jakarta.persistence.Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @jakarta.persistence.Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -14,16 +16,23 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(name = "columns")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "columns")
 public class Column {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "columns_seq")
+    @SequenceGenerator(name = "columns_seq", sequenceName = "columns_seq", allocationSize = 50)
     private Long id;
 
     private String title;
 
     private Integer position;
 
+    // Optimistic lock for column edits; position changes are guarded by ColumnRepository.updatePositions
+    @Version
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "board_id")
     private Board board;
@@ -0,0 +1,65 @@
+package com.example.mrellobackend.entity;
+
+import com.example.mrellobackend.dao.BoardEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A board event waiting for the in-process handlers, written in the transaction that made the
+ * change and deleted once every handler has taken it. A row is picked up when
+ * {@code availableAt} has passed; a claimed or failed row pushes it into the future.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_board", columnList = "board_id, id"),
+        @Index(name = "idx_outbox_events_available_at", columnList = "available_at")
+})
+public class OutboxEvent {
+
+    // Ids are taken from the database at insert time, after the board row is locked, so a board's
+    // events are numbered in commit order; a pooled sequence would hand each instance its own range
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @jakarta.persistence.Column(name = "board_version", nullable = false)
+    private long boardVersion;
+
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 30)
+    private BoardEventType type;
+
+    @jakarta.persistence.Column(name = "task_id")
+    private Long taskId;
+
+    @jakarta.persistence.Column(name = "column_id")
+    private Long columnId;
+
+    // BoardEventDto.data as JSON
+    @jakarta.persistence.Column(columnDefinition = "text")
+    private String payload;
+
+    @jakarta.persistence.Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @jakarta.persistence.Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @jakarta.persistence.Column(nullable = false)
+    private int attempts;
+
+    @jakarta.persistence.Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -2,6 +2,7 @@ package com.example.mrellobackend.entity;
 
 import com.example.mrellobackend.auth.user.User;
 import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.service.TaskSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,18 +16,31 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_column_order", columnList = "column_id, order_key, id"),
+        @Index(name = "idx_tasks_assignee_due", columnList = "assigned_user_id, due_date, id")
+})
+@EntityListeners(TaskSearchIndexListener.class)
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
 
     private String description;
 
-    private Integer position;
+    // Sparse sort key within the column; the client-facing position is derived from it. Written on
+    // insert and afterwards only through TaskRepository.updateOrderKeys, so a task loaded before its
+    // column was re-spaced cannot put its old key back when something else about it changes
+    @jakarta.persistence.Column(name = "order_key", nullable = false, updatable = false)
+    private Long orderKey;
+
+    // Optimistic lock, incremented with every update of the row
+    @Version
+    private Long version;
 
     @ManyToOne
     @JoinColumn(name = "column_id")
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,10 +18,13 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(name = "workspaces")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workspaces")
 public class Workspace {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspaces_seq")
+    @SequenceGenerator(name = "workspaces_seq", sequenceName = "workspaces_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -30,7 +35,9 @@ public class Workspace {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    // Cached as member ids; the users themselves come from the "users" region
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workspace-members")
     @JoinTable(
             name = "workspace_members",
             joinColumns = @JoinColumn(name = "workspace_id"),
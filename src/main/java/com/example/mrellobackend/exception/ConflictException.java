@@ -0,0 +1,9 @@
+package com.example.mrellobackend.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ConflictException extends ApiException {
+    public ConflictException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.entity.BoardChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BoardChangeRepository extends JpaRepository<BoardChange, Long> {
+
+    // Oldest version still in the log; anything older has been pruned
+    @Query("SELECT MIN(c.version) FROM BoardChange c WHERE c.boardId = :boardId")
+    Long findMinVersionByBoardId(@Param("boardId") Long boardId);
+
+    @Query("SELECT DISTINCT c.entityType AS entityType, c.entityId AS entityId FROM BoardChange c " +
+            "WHERE c.boardId = :boardId AND c.version > :since")
+    List<ChangedEntity> findChangedEntities(@Param("boardId") Long boardId, @Param("since") long since, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM BoardChange c WHERE c.changedAt < :cutoff")
+    int deleteByChangedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM BoardChange c WHERE c.boardId = :boardId")
+    void deleteByBoardId(@Param("boardId") Long boardId);
+}
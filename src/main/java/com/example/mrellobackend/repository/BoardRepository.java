@@ -2,8 +2,11 @@ package com.example.mrellobackend.repository;
 
 import com.example.mrellobackend.auth.user.User;
 import com.example.mrellobackend.entity.Board;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,11 +14,21 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BoardRepository extends JpaRepository<Board, Long> {
+public interface BoardRepository extends JpaRepository<Board, Long>, BoardRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "workspace-boards")
+    })
     List<Board> findByWorkspaceId(Long workspaceId);
+
     Optional<Board> findByIdAndWorkspaceId(Long boardId, Long workspaceId);
 
     @Query("SELECT b FROM Board b WHERE b.workspace.owner = :user OR :user MEMBER OF b.workspace.members")
     List<Board> findByWorkspaceOwnerOrWorkspaceMembersContaining(
             @Param("user") User user
-    );}
+    );
+
+    @Query("SELECT b.id AS boardId, b.workspace.id AS workspaceId, b.contentVersion AS contentVersion " +
+            "FROM Board b WHERE b.id = :boardId")
+    Optional<BoardVersion> findVersionByBoardId(@Param("boardId") Long boardId);
+}
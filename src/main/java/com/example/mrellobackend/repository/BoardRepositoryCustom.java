@@ -0,0 +1,11 @@
+package com.example.mrellobackend.repository;
+
+public interface BoardRepositoryCustom {
+
+    /**
+     * Increments the board's content version and locks its row until the transaction ends.
+     * Cached boards are left alone: an HQL update would evict the whole board region on every
+     * write to any board, and the cached content version is never read.
+     */
+    void incrementContentVersion(Long boardId);
+}
@@ -0,0 +1,23 @@
+package com.example.mrellobackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+public class BoardRepositoryImpl implements BoardRepositoryCustom {
+    // Declared as the only table space this statement touches, so Hibernate invalidates no cache
+    // region and no cached query result for it
+    private static final String CONTENT_VERSION_SPACE = "board_content_version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void incrementContentVersion(Long boardId) {
+        entityManager.createNativeQuery("UPDATE boards SET content_version = content_version + 1 WHERE id = ?1")
+                .setParameter(1, boardId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(CONTENT_VERSION_SPACE)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.mrellobackend.repository;
+
+public interface BoardVersion {
+    Long getBoardId();
+
+    Long getWorkspaceId();
+
+    Long getContentVersion();
+}
@@ -0,0 +1,9 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.dao.BoardChangeEntity;
+
+public interface ChangedEntity {
+    BoardChangeEntity getEntityType();
+
+    Long getEntityId();
+}
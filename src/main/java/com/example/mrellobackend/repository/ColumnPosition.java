@@ -0,0 +1,7 @@
+package com.example.mrellobackend.repository;
+
+public interface ColumnPosition {
+    Long getId();
+
+    Integer getPosition();
+}
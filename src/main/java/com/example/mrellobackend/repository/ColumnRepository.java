@@ -1,31 +1,47 @@
 package com.example.mrellobackend.repository;
 
 import com.example.mrellobackend.entity.Column;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ColumnRepository extends JpaRepository<Column, Long> {
+public interface ColumnRepository extends JpaRepository<Column, Long>, ColumnRepositoryCustom {
+    // Board snapshots and column lists; any write to the columns table invalidates the cached results
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "board-columns")
+    })
     List<Column> findByBoardIdOrderByPositionAsc(Long boardId);
 
     List<Column> findByBoardId(Long boardId);
 
-    @Modifying
-    @Query("UPDATE Column c SET c.position = c.position + 1 WHERE c.board.id = :boardId AND c.position >= :newPosition AND c.position < :oldPosition")
-    void incrementPositions(@Param("boardId") Long boardId,
-                            @Param("oldPosition") Integer oldPosition,
-                            @Param("newPosition") Integer newPosition);
+    @Query("SELECT c.id AS id, c.position AS position FROM Column c " +
+            "WHERE c.board.id = :boardId ORDER BY c.position ASC, c.id ASC")
+    List<ColumnPosition> findPositionsByBoardId(@Param("boardId") Long boardId);
 
-    @Modifying
-    @Query("UPDATE Column c SET c.position = c.position - 1 WHERE c.board.id = :boardId AND c.position <= :newPosition AND c.position > :oldPosition")
-    void decrementPositions(@Param("boardId") Long boardId,
-                            @Param("oldPosition") Integer oldPosition,
-                            @Param("newPosition") Integer newPosition);
+    @Query("SELECT c FROM Column c JOIN FETCH c.board b JOIN FETCH b.workspace w " +
+            "LEFT JOIN FETCH w.owner WHERE c.id IN :ids")
+    List<Column> findAllWithBoardByIdIn(@Param("ids") Collection<Long> ids);
 
     int countByBoardId(Long boardId);
+
+    // Row locks held until commit, taken in id order so two writers locking overlapping columns cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Column c WHERE c.id IN :ids ORDER BY c.id")
+    List<Column> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id AS boardId, b.workspace.id AS workspaceId, b.contentVersion AS contentVersion " +
+            "FROM Column c JOIN c.board b WHERE c.id = :columnId")
+    Optional<BoardVersion> findVersionByColumnId(@Param("columnId") Long columnId);
 }
@@ -0,0 +1,27 @@
+package com.example.mrellobackend.repository;
+
+import java.util.Map;
+
+public interface ColumnRepositoryCustom {
+
+    /**
+     * Sets the position of every given column of the board in a single UPDATE statement and bumps
+     * their versions.
+     * Like other bulk updates it bypasses the persistence context, so loaded columns keep their old position.
+     * A column is only updated while it still has its expected position, so comparing the returned
+     * count with the number of columns detects a concurrent reorder.
+     *
+     * @param positions         new position by column id; columns not in the map are left untouched
+     * @param expectedPositions position each of those columns was read with
+     * @return number of columns updated
+     */
+    int updatePositions(Long boardId, Map<Long, Integer> positions, Map<Long, Integer> expectedPositions);
+
+    /**
+     * Copies every column of the source board into the target board: one query reserves the new
+     * ids from the sequence, one INSERT ... SELECT writes the copies.
+     *
+     * @return new column id by source column id
+     */
+    Map<Long, Long> copyColumns(Long sourceBoardId, Long targetBoardId);
+}
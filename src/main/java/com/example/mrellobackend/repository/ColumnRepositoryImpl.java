@@ -0,0 +1,92 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.entity.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ColumnRepositoryImpl implements ColumnRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updatePositions(Long boardId, Map<Long, Integer> positions, Map<Long, Integer> expectedPositions) {
+        if (positions.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Column> update = cb.createCriteriaUpdate(Column.class);
+        Root<Column> column = update.from(Column.class);
+
+        // UPDATE columns SET position = CASE id WHEN ? THEN ? ... END, version = version + 1
+        // WHERE board_id = ? AND ((id = ? AND position = ?) OR ...)
+        CriteriaBuilder.SimpleCase<Long, Integer> newPosition = cb.selectCase(column.get("id"));
+        positions.forEach(newPosition::when);
+        update.set(column.<Integer>get("position"), newPosition.otherwise(column.get("position")));
+        // A position change is a change of the column: clients holding the old version get a 409
+        update.set(column.<Long>get("version"), cb.sum(column.<Long>get("version"), 1L));
+        Predicate[] unchanged = positions.keySet().stream()
+                .map(id -> {
+                    Integer expected = expectedPositions.get(id);
+                    return cb.and(
+                            cb.equal(column.get("id"), id),
+                            expected == null ? cb.isNull(column.get("position")) : cb.equal(column.get("position"), expected));
+                })
+                .toArray(Predicate[]::new);
+        update.where(
+                cb.equal(column.get("board").get("id"), boardId),
+                cb.or(unchanged)
+        );
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Map<Long, Long> copyColumns(Long sourceBoardId, Long targetBoardId) {
+        Map<Long, Long> columnIdMapping = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT id, nextval('columns_seq') FROM columns WHERE board_id = ?1")
+                .setParameter(1, sourceBoardId)
+                .getResultList();
+        for (Object[] row : rows) {
+            columnIdMapping.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        if (columnIdMapping.isEmpty()) {
+            return columnIdMapping;
+        }
+
+        StringBuilder newId = new StringBuilder("CASE id");
+        List<Long> parameters = new ArrayList<>();
+        columnIdMapping.forEach((sourceId, targetId) -> {
+            newId.append(" WHEN ?").append(parameters.size() + 1)
+                    .append(" THEN ?").append(parameters.size() + 2);
+            parameters.add(sourceId);
+            parameters.add(targetId);
+        });
+        newId.append(" END");
+
+        Query insert = entityManager.createNativeQuery(
+                "INSERT INTO columns (id, title, position, board_id, version) " +
+                        "SELECT " + newId + ", title, position, ?" + (parameters.size() + 1) + ", 0" +
+                        " FROM columns WHERE board_id = ?" + (parameters.size() + 2));
+        for (int i = 0; i < parameters.size(); i++) {
+            insert.setParameter(i + 1, parameters.get(i));
+        }
+        insert.setParameter(parameters.size() + 1, targetBoardId);
+        insert.setParameter(parameters.size() + 2, sourceBoardId);
+        insert.unwrap(NativeQuery.class).addSynchronizedEntityClass(Column.class);
+        insert.executeUpdate();
+        return columnIdMapping;
+    }
+}
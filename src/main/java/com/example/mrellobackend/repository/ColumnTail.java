@@ -0,0 +1,7 @@
+package com.example.mrellobackend.repository;
+
+/**
+ * Highest order key and number of tasks of a column, both null-safe for an empty column.
+ */
+public record ColumnTail(Long maxOrderKey, int taskCount) {
+}
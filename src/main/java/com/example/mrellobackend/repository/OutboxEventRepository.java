@@ -0,0 +1,25 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest available events, skipping every board with an earlier event that is claimed or waiting
+    // for a retry. The rows stay locked until the claim commits, so concurrent dispatchers queue up.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.availableAt <= :now AND NOT EXISTS (" +
+            "SELECT 1 FROM OutboxEvent p WHERE p.boardId = e.boardId AND p.id < e.id AND p.availableAt > :now) " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findDeliverable(@Param("now") LocalDateTime now, Limit limit);
+}
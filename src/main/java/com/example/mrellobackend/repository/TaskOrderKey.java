@@ -0,0 +1,9 @@
+package com.example.mrellobackend.repository;
+
+public interface TaskOrderKey {
+    Long getColumnId();
+
+    Long getId();
+
+    Long getOrderKey();
+}
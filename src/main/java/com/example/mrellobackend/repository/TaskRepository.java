@@ -1,61 +1,119 @@
 package com.example.mrellobackend.repository;
 
 import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.TaskExportDto;
 import com.example.mrellobackend.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    List<Task> findByColumnIdOrderByPositionAsc(Long columnId);
+    List<Task> findByColumnIdOrderByOrderKeyAscIdAsc(Long columnId);
     Integer countByColumnId(Long columnId);
     List<Task> findByColumnId(Long columnId);
+    List<Task> findByColumnIdIn(Collection<Long> columnIds);
     List<Task> findByAssignedUserId(Long userId);
-    @Query("SELECT t FROM Task t JOIN t.column c JOIN c.board b WHERE b.workspace.id = :workspaceId")
-    List<Task> findAllTasksByWorkspaceId(@Param("workspaceId") Long workspaceId);
-    @Modifying
-    @Query("UPDATE Task t SET t.position = t.position + 1 " +
-            "WHERE t.column.id = :columnId AND t.position >= :newPosition")
-    void incrementPositions(@Param("columnId") Long columnId,
-                            @Param("newPosition") Integer newPosition);
-
-    @Modifying
-    @Query("UPDATE Task t SET t.position = t.position - 1 " +
-            "WHERE t.column.id = :columnId AND t.position > :position")
-    void decrementPositions(@Param("columnId") Long columnId,
-                            @Param("position") Integer position);
-
-    @Modifying
-    @Query("UPDATE Task t SET t.position = t.position - 1 " +
-            "WHERE t.column.id = :columnId AND t.position BETWEEN :start AND :end")
-    void decrementPositionsInRange(@Param("columnId") Long columnId,
-                                   @Param("start") Integer start,
-                                   @Param("end") Integer end);
-
-    @Modifying
-    @Query("UPDATE Task t SET t.position = t.position + 1 " +
-            "WHERE t.column.id = :columnId AND t.position BETWEEN :start AND :end")
-    void incrementPositionsInRange(@Param("columnId") Long columnId,
-                                   @Param("start") Integer start,
-                                   @Param("end") Integer end);
-
-    List<Task> findByAssignedUserOrderByDueDateAsc(User assignedUser);
 
+    @Query("SELECT b.id AS boardId, b.workspace.id AS workspaceId, b.contentVersion AS contentVersion " +
+            "FROM Task t JOIN t.column c JOIN c.board b WHERE t.id = :taskId")
+    Optional<BoardVersion> findVersionByTaskId(@Param("taskId") Long taskId);
+    /**
+     * Every task of the workspace as flat export rows, in board and column order. Rows are read
+     * from a JDBC cursor in batches of the fetch size and never enter the persistence context, so
+     * the stream must be consumed inside a transaction and closed afterwards. Positions are left
+     * at 0 for the caller to number from the row order.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.mrellobackend.dto.TaskExportDto(t.id, b.id, b.title, c.id, c.title, 0, " +
+            "t.title, t.description, t.status, t.dueDate, u.id, u.username) " +
+            "FROM Task t JOIN t.column c JOIN c.board b LEFT JOIN t.assignedUser u " +
+            "WHERE b.workspace.id = :workspaceId " +
+            "ORDER BY b.id, c.position, c.id, t.orderKey, t.id")
+    Stream<TaskExportDto> streamExportRowsByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, b.workspace.id AS workspaceId " +
+            "FROM Task t JOIN t.column c JOIN c.board b WHERE c.id IN :columnIds")
+    List<TaskSearchDocument> findSearchDocumentsByColumnIdIn(@Param("columnIds") Collection<Long> columnIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, b.workspace.id AS workspaceId " +
+            "FROM Task t JOIN t.column c JOIN c.board b")
+    Stream<TaskSearchDocument> streamAllSearchDocuments();
+
+    @Query("SELECT t FROM Task t JOIN FETCH t.column c LEFT JOIN FETCH t.assignedUser " +
+            "WHERE c.board.id = :boardId ORDER BY c.id, t.orderKey ASC, t.id ASC")
+    List<Task> findAllByBoardIdWithAssignee(@Param("boardId") Long boardId);
+
+    @Query("SELECT t FROM Task t JOIN FETCH t.column c JOIN FETCH c.board b JOIN FETCH b.workspace w " +
+            "LEFT JOIN FETCH w.owner LEFT JOIN FETCH t.assignedUser WHERE t.id IN :ids")
+    List<Task> findAllWithBoardByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.column.id AS columnId, t.id AS id, t.orderKey AS orderKey FROM Task t " +
+            "WHERE t.column.id IN :columnIds ORDER BY t.column.id, t.orderKey, t.id")
+    List<TaskOrderKey> findOrderKeysByColumnIdIn(@Param("columnIds") Collection<Long> columnIds);
+
+    // Keyset pages: each query returns the tasks that sort after the given (key, id)
+
+    @EntityGraph(attributePaths = "assignedUser")
+    List<Task> findByColumnIdOrderByOrderKeyAscIdAsc(Long columnId, Limit limit);
+
+    @EntityGraph(attributePaths = "assignedUser")
+    @Query("SELECT t FROM Task t WHERE t.column.id = :columnId " +
+            "AND (t.orderKey > :orderKey OR (t.orderKey = :orderKey AND t.id > :id)) " +
+            "ORDER BY t.orderKey ASC, t.id ASC")
+    List<Task> findColumnPageAfter(
+            @Param("columnId") Long columnId,
+            @Param("orderKey") Long orderKey,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @EntityGraph(attributePaths = "column")
+    List<Task> findByAssignedUserAndDueDateNotNullOrderByDueDateAscIdAsc(User assignedUser, Limit limit);
+
+    @EntityGraph(attributePaths = "column")
+    @Query("SELECT t FROM Task t WHERE t.assignedUser = :user " +
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findAssignedPageAfter(
+            @Param("user") User user,
+            @Param("dueDate") LocalDate dueDate,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @EntityGraph(attributePaths = "column")
+    List<Task> findByAssignedUserAndDueDateIsNullAndIdGreaterThanOrderByIdAsc(User assignedUser, Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "column")
     @Query("SELECT t FROM Task t " +
             "WHERE t.assignedUser = :user " +
             "AND t.dueDate BETWEEN :startDate AND :endDate " +
-            "ORDER BY t.dueDate ASC")
-    List<Task> findByAssignedUserAndDueDateBetweenOrderByDueDateAsc(
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findDueBetweenPageAfter(
             @Param("user") User user,
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+            @Param("endDate") LocalDate endDate,
+            @Param("dueDate") LocalDate dueDate,
+            @Param("id") Long id,
+            Limit limit
     );
 }
@@ -0,0 +1,68 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.entity.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Order keys of the tasks of a column in display order, skipping {@code offset} tasks.
+     * The excluded task (e.g. the one being moved) is ignored when not null.
+     */
+    List<Long> findOrderKeys(Long columnId, Long excludedTaskId, int offset, int limit);
+
+    Long findMaxOrderKey(Long columnId, Long excludedTaskId);
+
+    /**
+     * Highest order key and task count of a column in one query, for appending a task and
+     * knowing its position. The excluded task is ignored when not null.
+     */
+    ColumnTail findTail(Long columnId, Long excludedTaskId);
+
+    /**
+     * Zero-based position of each task within its column, computed in a single query that counts
+     * only the tasks ahead of each one.
+     */
+    Map<Long, Integer> findPositions(Collection<Long> taskIds);
+
+    /**
+     * Rewrites order keys as one JDBC batch without bumping the tasks' versions. This is the only
+     * way the key of an existing task changes ({@code Task.orderKey} is not updatable): re-spacing
+     * keeps every task's position, so clients holding those tasks have nothing to reload. A task
+     * the client explicitly reorders has its version bumped separately with
+     * {@link #incrementVersion}. Tasks loaded in the current session keep their old key in memory.
+     */
+    void updateOrderKeys(Map<Long, Long> orderKeys);
+
+    /**
+     * Bumps the version of a loaded task right away and holds its row lock until commit, for a
+     * write that changes nothing but the order key. Fails with an optimistic locking error when
+     * another transaction changed the row since the task was loaded, so concurrent reorders of the
+     * same task are serialized and only the first one sent against a given version succeeds.
+     */
+    void incrementVersion(Task task);
+
+    /**
+     * Copies every task of the source columns into the mapped target columns with a single
+     * INSERT ... SELECT, keeping order, status, due date and assignee.
+     *
+     * @param columnIdMapping target column id by source column id
+     * @return the number of tasks copied
+     */
+    int copyTasks(Map<Long, Long> columnIdMapping);
+
+    /**
+     * Reserves {@code count} task ids from the sequence in one round trip, for rows written
+     * outside of Hibernate.
+     */
+    List<Long> allocateIds(int count);
+
+    /**
+     * Writes new tasks straight to the table, bypassing the persistence context: through COPY on
+     * PostgreSQL, as a single JDBC batch on other databases. Ids and order keys must already be set.
+     */
+    void bulkInsert(List<Task> tasks);
+}
@@ -0,0 +1,211 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final String INSERT_COLUMNS =
+            "id, title, description, order_key, column_id, status, due_date, assigned_user_id, version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findOrderKeys(Long columnId, Long excludedTaskId, int offset, int limit) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT t.orderKey FROM Task t WHERE t.column.id = :columnId" +
+                        (excludedTaskId != null ? " AND t.id <> :excludedTaskId" : "") +
+                        " ORDER BY t.orderKey, t.id", Long.class)
+                .setParameter("columnId", columnId)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        if (excludedTaskId != null) {
+            query.setParameter("excludedTaskId", excludedTaskId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Long findMaxOrderKey(Long columnId, Long excludedTaskId) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT MAX(t.orderKey) FROM Task t WHERE t.column.id = :columnId" +
+                        (excludedTaskId != null ? " AND t.id <> :excludedTaskId" : ""), Long.class)
+                .setParameter("columnId", columnId);
+        if (excludedTaskId != null) {
+            query.setParameter("excludedTaskId", excludedTaskId);
+        }
+        return query.getSingleResult();
+    }
+
+    @Override
+    public ColumnTail findTail(Long columnId, Long excludedTaskId) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT MAX(t.orderKey), COUNT(t) FROM Task t WHERE t.column.id = :columnId" +
+                        (excludedTaskId != null ? " AND t.id <> :excludedTaskId" : ""), Object[].class)
+                .setParameter("columnId", columnId);
+        if (excludedTaskId != null) {
+            query.setParameter("excludedTaskId", excludedTaskId);
+        }
+        Object[] row = query.getSingleResult();
+        return new ColumnTail((Long) row[0], ((Number) row[1]).intValue());
+    }
+
+    @Override
+    public Map<Long, Integer> findPositions(Collection<Long> taskIds) {
+        Map<Long, Integer> positions = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return positions;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT t.id, (SELECT COUNT(o) FROM Task o WHERE o.column = t.column AND o.orderKey <= t.orderKey " +
+                        "AND (o.orderKey < t.orderKey OR o.id < t.id)) " +
+                        "FROM Task t WHERE t.id IN :taskIds", Object[].class)
+                .setParameter("taskIds", taskIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            positions.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return positions;
+    }
+
+    @Override
+    public void updateOrderKeys(Map<Long, Long> orderKeys) {
+        if (orderKeys.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE tasks SET order_key = ? WHERE id = ?")) {
+                for (Map.Entry<Long, Long> entry : orderKeys.entrySet()) {
+                    statement.setLong(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public void incrementVersion(Task task) {
+        entityManager.lock(task, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Override
+    public int copyTasks(Map<Long, Long> columnIdMapping) {
+        if (columnIdMapping.isEmpty()) {
+            return 0;
+        }
+        StringBuilder targetColumn = new StringBuilder("CASE column_id");
+        List<Object> parameters = new ArrayList<>();
+        columnIdMapping.forEach((sourceId, targetId) -> {
+            targetColumn.append(" WHEN ?").append(parameters.size() + 1)
+                    .append(" THEN ?").append(parameters.size() + 2);
+            parameters.add(sourceId);
+            parameters.add(targetId);
+        });
+        targetColumn.append(" END");
+
+        Query query = entityManager.createNativeQuery(
+                "INSERT INTO tasks (" + INSERT_COLUMNS + ") " +
+                        "SELECT nextval('tasks_seq'), title, description, order_key, " + targetColumn + ", " +
+                        "status, due_date, assigned_user_id, 0 FROM tasks WHERE column_id IN (?" + (parameters.size() + 1) + ")");
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        query.setParameter(parameters.size() + 1, columnIdMapping.keySet());
+        // Only the tasks table changes, so keep Hibernate from treating this as a write to every table
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Task.class);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public List<Long> allocateIds(int count) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager.createNativeQuery(
+                        "SELECT nextval('tasks_seq') FROM generate_series(1, ?1)")
+                .setParameter(1, count)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    @Override
+    public void bulkInsert(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copyIn(connection.unwrap(PGConnection.class), tasks);
+            } else {
+                batchInsert(connection, tasks);
+            }
+        });
+    }
+
+    static void copyIn(PGConnection connection, List<Task> tasks) throws SQLException {
+        StringBuilder csv = new StringBuilder();
+        for (Task task : tasks) {
+            csv.append(task.getId()).append(',')
+                    .append(csvValue(task.getTitle())).append(',')
+                    .append(csvValue(task.getDescription())).append(',')
+                    .append(task.getOrderKey()).append(',')
+                    .append(task.getColumn().getId()).append(',')
+                    .append(task.getStatus() != null ? task.getStatus().name() : "").append(',')
+                    .append(task.getDueDate() != null ? task.getDueDate().toString() : "").append(',')
+                    .append(task.getAssignedUser() != null ? task.getAssignedUser().getId().toString() : "").append(',')
+                    .append('0')
+                    .append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(
+                    "COPY tasks (" + INSERT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into tasks failed", e);
+        }
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL and a quoted one is an empty string
+    private static String csvValue(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void batchInsert(Connection connection, List<Task> tasks) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tasks (" + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+            for (Task task : tasks) {
+                statement.setLong(1, task.getId());
+                statement.setString(2, task.getTitle());
+                statement.setString(3, task.getDescription());
+                statement.setLong(4, task.getOrderKey());
+                statement.setLong(5, task.getColumn().getId());
+                statement.setString(6, task.getStatus() != null ? task.getStatus().name() : null);
+                statement.setObject(7, task.getDueDate(), Types.DATE);
+                statement.setObject(8, task.getAssignedUser() != null ? task.getAssignedUser().getId() : null, Types.BIGINT);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.mrellobackend.repository;
+
+public interface TaskSearchDocument {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Long getWorkspaceId();
+}
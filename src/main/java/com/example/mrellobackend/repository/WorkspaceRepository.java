@@ -23,4 +23,15 @@ public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
     boolean existsByMembersContainingAndMembersContaining(
             @Param("user1") User user1,
             @Param("user2") User user2
-    );}
+    );
+
+    @Query("SELECT w.id FROM Workspace w JOIN w.members m WHERE m.id = :userId")
+    List<Long> findIdsByMemberId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(m) > 0 FROM Workspace w JOIN w.members m " +
+            "WHERE w.id = :workspaceId AND m.id = :userId")
+    boolean existsMemberById(
+            @Param("workspaceId") Long workspaceId,
+            @Param("userId") Long userId
+    );
+}
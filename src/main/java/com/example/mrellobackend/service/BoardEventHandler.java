@@ -0,0 +1,16 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.dto.BoardEventDto;
+
+/**
+ * A side effect of board changes (notifications, activity feed, cache invalidation) run by
+ * {@link BoardEventOutbox} after the change committed, outside the request that made it.
+ * <p>
+ * Events of one board arrive one at a time in version order. Delivery is at least once: after a
+ * failure of any handler or a restart an event arrives again, so handlers skip board versions
+ * they have already seen. {@code data} arrives as plain JSON maps and lists.
+ */
+public interface BoardEventHandler {
+
+    void handle(BoardEventDto event, long boardVersion);
+}
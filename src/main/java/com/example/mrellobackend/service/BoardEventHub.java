@@ -0,0 +1,188 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.dto.BoardEventDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed board changes out to the Server-Sent Events subscribers of each board.
+ * <p>
+ * Publishing never blocks the committing request: every subscriber has a bounded buffer that a
+ * sender task drains onto its connection. A subscriber whose buffer overflows is dropped and its
+ * stream closed, so the client reconnects and catches up instead of slowing everyone down. Each
+ * event carries the board content version as its SSE id.
+ */
+@Component
+public class BoardEventHub {
+
+    // Queued in place of an event to send a keep-alive comment
+    private static final BoardEventDto HEARTBEAT = new BoardEventDto();
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final long emitterTimeoutMillis;
+
+    @Autowired
+    public BoardEventHub(@Value("${board.events.buffer-size:256}") int bufferSize,
+                         @Value("${board.events.emitter-timeout:30m}") Duration emitterTimeout,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(bufferSize, emitterTimeout, virtualThreads ? virtualThreadSenders() : platformThreadSenders());
+    }
+
+    // Tests pass an executor that decides when each sender task runs
+    BoardEventHub(int bufferSize, Duration emitterTimeout, ExecutorService senders) {
+        this.senders = senders;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+    }
+
+    // A sender blocked on a slow client only parks its virtual thread
+    private static ExecutorService virtualThreadSenders() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("board-events-", 0).factory());
+    }
+
+    private static ExecutorService platformThreadSenders() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("board-events-");
+        threadFactory.setDaemon(true);
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    public SseEmitter subscribe(Long boardId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(boardId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.computeIfAbsent(boardId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // Flushes the response headers so the client sees the stream open right away
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    public int getSubscriberCount(Long boardId) {
+        return subscribers.getOrDefault(boardId, Set.of()).size();
+    }
+
+    /**
+     * Runs after the publishing transaction commits, so rolled back changes are never streamed.
+     * Changes made outside a transaction are already committed and are delivered immediately.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEventDto event) {
+        subscribers.getOrDefault(event.getBoardId(), Set.of()).forEach(subscriber -> subscriber.offer(event));
+    }
+
+    // Keeps idle streams from being closed by proxies and detects clients that went away
+    @Scheduled(fixedRateString = "${board.events.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(boardSubscribers -> boardSubscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(boardSubscribers -> boardSubscribers.forEach(Subscriber::drop));
+        senders.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(BoardEventDto event) {
+        SseEmitter.SseEventBuilder sseEvent = SseEmitter.event()
+                .name(event.getType().name())
+                .data(event, MediaType.APPLICATION_JSON);
+        return event.getVersion() == null ? sseEvent : sseEvent.id(event.getVersion().toString());
+    }
+
+    private final class Subscriber {
+        private final Long boardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BoardEventDto> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+        private volatile boolean closed;
+
+        private Subscriber(Long boardId, SseEmitter emitter) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+        }
+
+        void offer(BoardEventDto event) {
+            if (closed || dropped) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                drop();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // Ends the stream from the sender task, which may still be blocked writing to a slow client
+        void drop() {
+            dropped = true;
+            buffer.clear();
+            scheduleDrain();
+        }
+
+        void close() {
+            closed = true;
+            buffer.clear();
+            subscribers.computeIfPresent(boardId, (id, boardSubscribers) -> {
+                boardSubscribers.remove(this);
+                return boardSubscribers.isEmpty() ? null : boardSubscribers;
+            });
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (dropped) {
+                        close();
+                        emitter.complete();
+                        break;
+                    }
+                    BoardEventDto event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    emitter.send(event == HEARTBEAT ? SseEmitter.event().comment("heartbeat") : toSseEvent(event));
+                }
+            } catch (Exception e) {
+                // The client went away; the emitter reports the error to the container on its own
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (dropped || !buffer.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+}
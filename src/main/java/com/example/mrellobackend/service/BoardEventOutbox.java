@@ -0,0 +1,252 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.dto.BoardEventDto;
+import com.example.mrellobackend.entity.OutboxEvent;
+import com.example.mrellobackend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transactional outbox for board events. The mutating transaction writes the event next to the
+ * change; a dispatcher thread delivers it to the {@link BoardEventHandler} beans afterwards, so a
+ * request costs one insert however many handlers there are. Without handlers nothing is written.
+ * <p>
+ * The dispatcher wakes when a transaction that wrote events commits and otherwise every
+ * poll interval, which also picks up events of other instances and retries. It claims a batch
+ * by pushing the rows' {@code availableAt} one lease ahead, delivers the batch outside any
+ * transaction, deletes what was delivered and reschedules failures with exponential backoff.
+ * A failed event holds back the later events of its board until it goes through; other boards
+ * carry on. A crashed dispatcher's claims are taken over when the lease runs out.
+ */
+@Service
+public class BoardEventOutbox implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(BoardEventOutbox.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<BoardEventHandler> handlerProvider;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile List<BoardEventHandler> handlers = List.of();
+    private volatile long lagMillis;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public BoardEventOutbox(OutboxEventRepository outboxEventRepository,
+                            ObjectProvider<BoardEventHandler> handlerProvider,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${outbox.batch-size:100}") int batchSize,
+                            @Value("${outbox.poll-interval:1s}") Duration pollInterval,
+                            @Value("${outbox.lease:1m}") Duration lease,
+                            @Value("${outbox.retry-backoff:1s}") Duration retryBackoff,
+                            @Value("${outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlerProvider = handlerProvider;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    // Handlers may depend on the services that write events, so they are looked up once all beans exist
+    @Override
+    public void afterSingletonsInstantiated() {
+        handlers = handlerProvider.orderedStream().toList();
+    }
+
+    /**
+     * Called by {@link BoardVersionService} inside the mutating transaction, after the board row
+     * is locked, so a board's outbox rows are numbered in version order.
+     */
+    public void record(BoardEventDto event, long boardVersion) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .boardId(event.getBoardId())
+                .boardVersion(boardVersion)
+                .type(event.getType())
+                .taskId(event.getTaskId())
+                .columnId(event.getColumnId())
+                .payload(event.getData() == null ? null : toJson(event.getData()))
+                .occurredAt(event.getOccurredAt() != null ? event.getOccurredAt() : now)
+                .availableAt(now)
+                .build());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp.release();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (handlers.isEmpty() || running) {
+            return;
+        }
+        running = true;
+        dispatcher = Thread.ofPlatform().name("outbox-dispatcher").daemon().start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUp.release();
+        if (dispatcher != null) {
+            dispatcher.join(lease.toMillis());
+        }
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Time from the change to its delivery, for the most recently delivered event
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                // A full batch means more is probably waiting
+                while (running && dispatchBatch() == batchSize) {
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Typically the database being unreachable; the claimed rows come back after the lease
+                log.warn("Outbox dispatch failed, retrying in {}", pollInterval, e);
+            }
+        }
+    }
+
+    int dispatchBatch() {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findDeliverable(claimedAt, Limit.of(batchSize));
+            events.forEach(event -> event.setAvailableAt(claimedAt.plus(lease)));
+            return events;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> deliveredIds = new ArrayList<>();
+        List<OutboxEvent> rescheduled = new ArrayList<>();
+        Set<Long> blockedBoards = new HashSet<>();
+        for (OutboxEvent event : batch) {
+            if (blockedBoards.contains(event.getBoardId())) {
+                // Waits behind the failed event of its board; claimable again right away
+                event.setAvailableAt(claimedAt);
+                rescheduled.add(event);
+                continue;
+            }
+            try {
+                deliver(event);
+                deliveredIds.add(event.getId());
+                delivered.increment();
+                lagMillis = Duration.between(event.getOccurredAt(), LocalDateTime.now()).toMillis();
+            } catch (RuntimeException e) {
+                failed.increment();
+                blockedBoards.add(event.getBoardId());
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(e.toString()));
+                event.setAvailableAt(LocalDateTime.now().plus(backoff(event.getAttempts())));
+                rescheduled.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(deliveredIds);
+            outboxEventRepository.saveAll(rescheduled);
+        });
+        return batch.size();
+    }
+
+    private void deliver(OutboxEvent event) {
+        BoardEventDto boardEvent = BoardEventDto.builder()
+                .boardId(event.getBoardId())
+                .type(event.getType())
+                .taskId(event.getTaskId())
+                .columnId(event.getColumnId())
+                .data(event.getPayload() == null ? null : fromJson(event.getPayload()))
+                .occurredAt(event.getOccurredAt())
+                .build();
+        for (BoardEventHandler handler : handlers) {
+            handler.handle(boardEvent, event.getBoardVersion());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Board event data cannot be serialized", e);
+        }
+    }
+
+    private Object fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox payload cannot be read", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -1,37 +1,74 @@
 package com.example.mrellobackend.service;
 
+import com.example.mrellobackend.auth.user.CurrentUserContext;
 import com.example.mrellobackend.auth.user.User;
-import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.dao.BoardChangeEntity;
+import com.example.mrellobackend.dao.BoardEventType;
+import com.example.mrellobackend.dto.BoardChangesDto;
 import com.example.mrellobackend.dto.BoardCreateDto;
 import com.example.mrellobackend.dto.BoardDto;
+import com.example.mrellobackend.dto.BoardEventDto;
+import com.example.mrellobackend.dto.BoardSnapshotDto;
+import com.example.mrellobackend.dto.ColumnDto;
+import com.example.mrellobackend.dto.ColumnSnapshotDto;
+import com.example.mrellobackend.dto.TaskDto;
 import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
 import com.example.mrellobackend.entity.Workspace;
 import com.example.mrellobackend.exception.AccessDeniedException;
 import com.example.mrellobackend.exception.ResourceNotFoundException;
+import com.example.mrellobackend.repository.BoardChangeRepository;
 import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.ChangedEntity;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.TaskOrderKey;
+import com.example.mrellobackend.repository.TaskRepository;
 import com.example.mrellobackend.repository.WorkspaceRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "mrello.service", histogram = true)
 public class BoardService {
     private final BoardRepository boardRepository;
     private final WorkspaceRepository workspaceRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
+    private final ColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final ColumnService columnService;
+    private final WorkspaceMembershipService membershipService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final BoardEventHub boardEventHub;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardChangeRepository boardChangeRepository;
+
+    @Value("${board.changes.max-entities:1000}")
+    private int maxChangedEntities;
 
     private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found!"));
+        return currentUserContext.getCurrentUser();
     }
-    private BoardDto convertToDto(Board board) {
+    public BoardDto convertToDto(Board board) {
         return BoardDto.builder()
                 .id(board.getId())
                 .title(board.getTitle())
@@ -53,7 +90,7 @@ public class BoardService {
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace not found with id: " + workspaceId));
 
-        if (!workspace.getMembers().contains(getCurrentUser())) {
+        if (!membershipService.isMember(getCurrentUser(), workspace.getId())) {
             throw new AccessDeniedException("You don't have permission to create boards in this workspace");
         }
 
@@ -67,6 +104,7 @@ public class BoardService {
         return convertToDto(savedBoard);
     }
 
+    @ReadOnlyTransactional
     public List<BoardDto> getAllBoardsInWorkspace(Long workspaceId) {
         return boardRepository.findByWorkspaceId(workspaceId)
                 .stream()
@@ -74,22 +112,222 @@ public class BoardService {
                 .collect(Collectors.toList());
     }
 
+    @ReadOnlyTransactional
     public BoardDto getBoardById(Long boardId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
 
-        if (!board.getWorkspace().getMembers().contains(getCurrentUser())) {
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
             throw new AccessDeniedException("You don't have permission to access this board");
         }
 
         return convertToDto(board);
     }
+
+    /**
+     * Clones a board with all of its columns and tasks into the same workspace. Columns and tasks
+     * are copied with INSERT ... SELECT, so the number of statements does not grow with the board.
+     */
+    @Transactional
+    public BoardDto duplicateBoard(Long boardId) {
+        Board sourceBoard = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+
+        if (!membershipService.isMember(getCurrentUser(), sourceBoard.getWorkspace().getId())) {
+            throw new AccessDeniedException("You don't have permission to access this board");
+        }
+
+        Board board = new Board();
+        board.setTitle(sourceBoard.getTitle() + " (Copy)");
+        board.setDescription(sourceBoard.getDescription());
+        board.setWorkspace(sourceBoard.getWorkspace());
+        Board savedBoard = boardRepository.saveAndFlush(board);
+
+        Map<Long, Long> columnIdMapping = columnRepository.copyColumns(boardId, savedBoard.getId());
+        taskRepository.copyTasks(columnIdMapping);
+        taskSearchIndex.columnsChanged(columnIdMapping.values());
+
+        return convertToDto(savedBoard);
+    }
+
+    /**
+     * Loads the whole board tree (board, columns and their tasks) with a fixed number of
+     * queries, independent of how many columns or tasks the board has.
+     */
+    @ReadOnlyTransactional
+    public BoardSnapshotDto getBoardSnapshot(Long boardId) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
+            throw new AccessDeniedException("You don't have permission to access this board");
+        }
+
+        return toSnapshot(board);
+    }
+
+    /**
+     * Opens a stream of the board's committed changes. Each event's id is the board version it
+     * produced. Clients subscribe first and then load the snapshot, skipping buffered events whose
+     * version is not above the snapshot's, so nothing committed in between is lost. When the stream
+     * ends they reconnect and fetch {@code /changes?since=} the last event id they applied.
+     */
+    public SseEmitter subscribeToBoardEvents(Long boardId) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
+            throw new AccessDeniedException("You don't have permission to access this board");
+        }
+
+        return boardEventHub.subscribe(boardId);
+    }
+
+    /**
+     * Returns what changed on the board after version {@code since}, read from the change log.
+     * Falls back to a full snapshot when that version has been pruned from the log or is ahead of
+     * the board, or when so much changed that the snapshot is the smaller answer.
+     */
+    @ReadOnlyTransactional
+    public BoardChangesDto getBoardChanges(Long boardId, long since) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
+            throw new AccessDeniedException("You don't have permission to access this board");
+        }
+
+        // Read before the changes: anything committed in between is simply sent again next time
+        long version = currentVersion(boardId);
+        List<ChangedEntity> changes = isInChangeLog(boardId, since, version)
+                ? boardChangeRepository.findChangedEntities(boardId, since, Limit.of(maxChangedEntities + 1))
+                : null;
+        if (changes == null || changes.size() > maxChangedEntities) {
+            return BoardChangesDto.builder()
+                    .boardId(boardId)
+                    .version(version)
+                    .snapshot(toSnapshot(board))
+                    .build();
+        }
+
+        Map<BoardChangeEntity, Set<Long>> changedIds = new EnumMap<>(BoardChangeEntity.class);
+        changes.forEach(change -> changedIds
+                .computeIfAbsent(change.getEntityType(), type -> new HashSet<>())
+                .add(change.getEntityId()));
+
+        // Changed columns and tasks that are no longer on the board were deleted (or moved away)
+        Set<Long> columnIds = changedIds.getOrDefault(BoardChangeEntity.COLUMN, Set.of());
+        List<ColumnDto> columns = columnIds.isEmpty() ? List.of() : columnRepository.findAllById(columnIds).stream()
+                .filter(column -> column.getBoard().getId().equals(boardId))
+                .map(columnService::convertToDto)
+                .collect(Collectors.toList());
+        Set<Long> deletedColumnIds = new HashSet<>(columnIds);
+        columns.forEach(column -> deletedColumnIds.remove(column.getId()));
+
+        Set<Long> taskIds = changedIds.getOrDefault(BoardChangeEntity.TASK, Set.of());
+        Map<Long, Task> tasks = new LinkedHashMap<>();
+        if (!taskIds.isEmpty()) {
+            taskRepository.findAllWithBoardByIdIn(taskIds).stream()
+                    .filter(task -> task.getColumn().getBoard().getId().equals(boardId))
+                    .forEach(task -> tasks.put(task.getId(), task));
+        }
+        Set<Long> deletedTaskIds = new HashSet<>(taskIds);
+        deletedTaskIds.removeAll(tasks.keySet());
+
+        Set<Long> bulkColumnIds = new HashSet<>(changedIds.getOrDefault(BoardChangeEntity.COLUMN_TASKS, Set.of()));
+        bulkColumnIds.removeAll(deletedColumnIds);
+        if (!bulkColumnIds.isEmpty()) {
+            taskRepository.findByColumnIdIn(bulkColumnIds).forEach(task -> tasks.putIfAbsent(task.getId(), task));
+        }
+
+        Set<Long> orderColumnIds = new HashSet<>(changedIds.getOrDefault(BoardChangeEntity.COLUMN_ORDER, Set.of()));
+        orderColumnIds.removeAll(deletedColumnIds);
+
+        // Full order of every column a changed task is in or left, so positions of its neighbours stay right
+        Map<Long, List<Long>> taskOrder = new LinkedHashMap<>();
+        Map<Long, Integer> positions = new HashMap<>();
+        tasks.values().forEach(task -> taskOrder.putIfAbsent(task.getColumn().getId(), new ArrayList<>()));
+        bulkColumnIds.forEach(columnId -> taskOrder.putIfAbsent(columnId, new ArrayList<>()));
+        orderColumnIds.forEach(columnId -> taskOrder.putIfAbsent(columnId, new ArrayList<>()));
+        if (!taskOrder.isEmpty()) {
+            for (TaskOrderKey row : taskRepository.findOrderKeysByColumnIdIn(taskOrder.keySet())) {
+                List<Long> columnOrder = taskOrder.get(row.getColumnId());
+                positions.put(row.getId(), columnOrder.size());
+                columnOrder.add(row.getId());
+            }
+        }
+
+        return BoardChangesDto.builder()
+                .boardId(boardId)
+                .version(version)
+                .board(changedIds.containsKey(BoardChangeEntity.BOARD) ? convertToDto(board) : null)
+                .columns(columns)
+                .deletedColumnIds(new ArrayList<>(deletedColumnIds))
+                .tasks(tasks.values().stream()
+                        .map(task -> taskService.convertToDto(task, positions.getOrDefault(task.getId(), 0)))
+                        .collect(Collectors.toList()))
+                .deletedTaskIds(new ArrayList<>(deletedTaskIds))
+                .taskOrder(taskOrder)
+                .build();
+    }
+
+    // The log covers versions after (oldest logged version - 1); older ones were pruned
+    private boolean isInChangeLog(Long boardId, long since, long version) {
+        if (since == version) {
+            return true;
+        }
+        if (since < 0 || since > version) {
+            return false;
+        }
+        Long oldestVersion = boardChangeRepository.findMinVersionByBoardId(boardId);
+        return oldestVersion != null && since >= oldestVersion - 1;
+    }
+
+    // Read from the row: the loaded board may come from the second-level cache with an old version
+    private long currentVersion(Long boardId) {
+        return boardRepository.findVersionByBoardId(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId))
+                .getContentVersion();
+    }
+
+    private BoardSnapshotDto toSnapshot(Board board) {
+        Long boardId = board.getId();
+        long version = currentVersion(boardId);
+        List<Column> columns = columnRepository.findByBoardIdOrderByPositionAsc(boardId);
+
+        Map<Long, List<TaskDto>> tasksByColumn = new HashMap<>();
+        for (Task task : taskRepository.findAllByBoardIdWithAssignee(boardId)) {
+            List<TaskDto> columnTasks = tasksByColumn.computeIfAbsent(task.getColumn().getId(), id -> new ArrayList<>());
+            columnTasks.add(taskService.convertToDto(task, columnTasks.size()));
+        }
+
+        List<ColumnSnapshotDto> columnDtos = columns.stream()
+                .map(column -> ColumnSnapshotDto.builder()
+                        .id(column.getId())
+                        .title(column.getTitle())
+                        .position(column.getPosition())
+                        .version(column.getVersion())
+                        .tasks(tasksByColumn.getOrDefault(column.getId(), List.of()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return BoardSnapshotDto.builder()
+                .id(board.getId())
+                .title(board.getTitle())
+                .description(board.getDescription())
+                .workspaceId(board.getWorkspace().getId())
+                .createdAt(board.getCreatedAt())
+                .version(version)
+                .columns(columnDtos)
+                .build();
+    }
+
     @Transactional
     public BoardDto updateBoard(Long boardId, BoardCreateDto boardDto) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
 
-        if (!board.getWorkspace().getMembers().contains(getCurrentUser())) {
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
             throw new AccessDeniedException("You don't have permission to update this board");
         }
 
@@ -97,7 +335,14 @@ public class BoardService {
         board.setDescription(boardDto.getDescription());
 
         Board updatedBoard = boardRepository.save(board);
-        return convertToDto(updatedBoard);
+        BoardDto updatedDto = convertToDto(updatedBoard);
+        eventPublisher.publishEvent(BoardEventDto.builder()
+                .boardId(boardId)
+                .type(BoardEventType.BOARD_UPDATED)
+                .data(updatedDto)
+                .occurredAt(LocalDateTime.now())
+                .build());
+        return updatedDto;
     }
 
     @Transactional
@@ -105,13 +350,15 @@ public class BoardService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
 
-        if (!board.getWorkspace().getOwner().equals(getCurrentUser())) {
+        if (!board.getWorkspace().getOwner().getId().equals(getCurrentUser().getId())) {
             throw new AccessDeniedException("Only workspace owner can delete boards");
         }
 
         boardRepository.delete(board);
+        boardChangeRepository.deleteByBoardId(boardId);
     }
 
+    @ReadOnlyTransactional
     public List<BoardDto> getBoardsForCurrentUser() {
         List<Board> boards = boardRepository.findByWorkspaceOwnerOrWorkspaceMembersContaining(getCurrentUser());
 
@@ -0,0 +1,144 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.auth.user.CurrentUserContext;
+import com.example.mrellobackend.dao.BoardChangeEntity;
+import com.example.mrellobackend.dto.BoardEventDto;
+import com.example.mrellobackend.dto.ColumnDto;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.entity.BoardChange;
+import com.example.mrellobackend.exception.AccessDeniedException;
+import com.example.mrellobackend.exception.ResourceNotFoundException;
+import com.example.mrellobackend.repository.BoardChangeRepository;
+import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.BoardVersion;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps each board's content version and change log, and turns the version into strong ETags for
+ * the board, column and task read endpoints. A conditional GET only reads the version row and the
+ * cached membership, never the board tree.
+ */
+@Service
+@RequiredArgsConstructor
+public class BoardVersionService {
+    private final BoardRepository boardRepository;
+    private final BoardChangeRepository boardChangeRepository;
+    private final ColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+    private final CurrentUserContext currentUserContext;
+    private final WorkspaceMembershipService membershipService;
+    private final BoardEventOutbox boardEventOutbox;
+
+    @Value("${board.changes.retention:7d}")
+    private Duration changeRetention;
+
+    /**
+     * Every board mutation publishes an event, so the version is bumped and the change logged in
+     * the mutating transaction, along with the outbox row for the board event handlers. The version
+     * update locks the board row, which keeps versions in commit order per board. The version is
+     * set on the event before it is streamed to subscribers after commit.
+     */
+    @EventListener
+    @Transactional
+    public void onBoardEvent(BoardEventDto event) {
+        Long boardId = event.getBoardId();
+        boardRepository.incrementContentVersion(boardId);
+        long version = boardRepository.findVersionByBoardId(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId))
+                .getContentVersion();
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        boardChangeRepository.saveAll(changedEntities(event)
+                .map(change -> BoardChange.builder()
+                        .boardId(boardId)
+                        .version(version)
+                        .entityType(change.type())
+                        .entityId(change.id())
+                        .changedAt(changedAt)
+                        .build())
+                .toList());
+        event.setVersion(version);
+        boardEventOutbox.record(event, version);
+    }
+
+    // Changes older than the retention window are dropped; clients that far behind get a snapshot
+    @Scheduled(fixedDelayString = "${board.changes.prune-interval:1h}")
+    @Transactional
+    public void pruneChanges() {
+        boardChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().minus(changeRetention));
+    }
+
+    @ReadOnlyTransactional
+    public String getBoardETag(Long boardId) {
+        return toETag(boardRepository.findVersionByBoardId(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId)));
+    }
+
+    @ReadOnlyTransactional
+    public String getColumnETag(Long columnId) {
+        return toETag(columnRepository.findVersionByColumnId(columnId)
+                .orElseThrow(() -> new ResourceNotFoundException("Column not found")));
+    }
+
+    @ReadOnlyTransactional
+    public String getTaskETag(Long taskId) {
+        return toETag(taskRepository.findVersionByTaskId(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found")));
+    }
+
+    private String toETag(BoardVersion version) {
+        if (!membershipService.isMember(currentUserContext.getCurrentUser(), version.getWorkspaceId())) {
+            throw new AccessDeniedException("You don't have permission to access this board");
+        }
+        return "\"" + version.getBoardId() + "-" + version.getContentVersion() + "\"";
+    }
+
+    private record Change(BoardChangeEntity type, Long id) {
+    }
+
+    private static Stream<Change> changedEntities(BoardEventDto event) {
+        return switch (event.getType()) {
+            case BOARD_UPDATED -> Stream.of(new Change(BoardChangeEntity.BOARD, event.getBoardId()));
+            case TASK_CREATED, TASK_UPDATED -> Stream.of(new Change(BoardChangeEntity.TASK, event.getTaskId()));
+            // The columns tasks left keep a changed order even when none of their own tasks changed
+            case TASK_MOVED -> Stream.concat(
+                    Stream.of(new Change(BoardChangeEntity.TASK, event.getTaskId())),
+                    sourceColumnOrders(event));
+            case TASK_DELETED -> Stream.of(
+                    new Change(BoardChangeEntity.TASK, event.getTaskId()),
+                    new Change(BoardChangeEntity.COLUMN_ORDER, event.getColumnId()));
+            case TASKS_UPDATED -> Stream.concat(
+                    ((List<?>) event.getData()).stream()
+                            .map(task -> new Change(BoardChangeEntity.TASK, ((TaskDto) task).getId())),
+                    sourceColumnOrders(event));
+            case TASKS_IMPORTED -> ((List<?>) event.getData()).stream()
+                    .map(columnId -> new Change(BoardChangeEntity.COLUMN_TASKS, (Long) columnId));
+            // A duplicated column arrives with its tasks already copied
+            case COLUMN_CREATED -> Stream.of(
+                    new Change(BoardChangeEntity.COLUMN, event.getColumnId()),
+                    new Change(BoardChangeEntity.COLUMN_TASKS, event.getColumnId()));
+            case COLUMN_UPDATED, COLUMN_DELETED -> Stream.of(new Change(BoardChangeEntity.COLUMN, event.getColumnId()));
+            case COLUMNS_UPDATED -> ((List<?>) event.getData()).stream()
+                    .map(column -> new Change(BoardChangeEntity.COLUMN, ((ColumnDto) column).getId()));
+            case COLUMNS_REORDERED -> ((List<?>) event.getData()).stream()
+                    .map(columnId -> new Change(BoardChangeEntity.COLUMN, (Long) columnId));
+        };
+    }
+
+    private static Stream<Change> sourceColumnOrders(BoardEventDto event) {
+        List<Long> sourceColumnIds = event.getSourceColumnIds() == null ? List.of() : event.getSourceColumnIds();
+        return sourceColumnIds.stream().map(columnId -> new Change(BoardChangeEntity.COLUMN_ORDER, columnId));
+    }
+}
@@ -1,45 +1,61 @@
 package com.example.mrellobackend.service;
 
+import com.example.mrellobackend.auth.user.CurrentUserContext;
 import com.example.mrellobackend.auth.user.User;
-import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.dao.BoardEventType;
+import com.example.mrellobackend.dto.BoardEventDto;
 import com.example.mrellobackend.dto.ColumnCreateDto;
 import com.example.mrellobackend.dto.ColumnDto;
 import com.example.mrellobackend.dto.ColumnUpdateDto;
 import com.example.mrellobackend.entity.Board;
 import com.example.mrellobackend.entity.Column;
-import com.example.mrellobackend.entity.Task;
 import com.example.mrellobackend.exception.AccessDeniedException;
+import com.example.mrellobackend.exception.BadRequestException;
+import com.example.mrellobackend.exception.ConflictException;
 import com.example.mrellobackend.exception.ResourceNotFoundException;
 import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.ColumnPosition;
 import com.example.mrellobackend.repository.ColumnRepository;
 import com.example.mrellobackend.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "mrello.service", histogram = true)
 public class ColumnService {
     private final ColumnRepository columnRepository;
     private final BoardRepository boardRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
     private final TaskRepository taskRepository;
+    private final WorkspaceMembershipService membershipService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found!"));
+        return currentUserContext.getCurrentUser();
     }
-    private ColumnDto convertToDto(Column column) {
+    public ColumnDto convertToDto(Column column) {
         return ColumnDto.builder()
                 .id(column.getId())
                 .title(column.getTitle())
                 .position(column.getPosition())
                 .boardId(column.getBoard().getId())
+                .version(column.getVersion())
                 .build();
     }
 
@@ -49,19 +65,29 @@ public class ColumnService {
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
 
         // Verify user has access to the board's workspace
-        if (!board.getWorkspace().getMembers().contains(getCurrentUser())) {
+        if (!membershipService.isMember(getCurrentUser(), board.getWorkspace().getId())) {
             throw new AccessDeniedException("You don't have permission to create columns in this board");
         }
 
+        Map<Long, Integer> currentPositions = currentPositions(board.getId());
+        List<Long> order = new ArrayList<>(currentPositions.keySet());
+        int position = clampPosition(columnDto.getPosition(), order.size());
+
         Column column = new Column();
         column.setTitle(columnDto.getTitle());
-        column.setPosition(columnDto.getPosition());
+        column.setPosition(position);
         column.setBoard(board);
 
         Column savedColumn = columnRepository.save(column);
-        return convertToDto(savedColumn);
+        ColumnDto savedDto = convertToDto(savedColumn);
+        publishColumnEvent(BoardEventType.COLUMN_CREATED, savedDto);
+        order.add(position, savedColumn.getId());
+        currentPositions.put(savedColumn.getId(), position);
+        applyOrder(board.getId(), order, currentPositions);
+        return savedDto;
     }
 
+    @ReadOnlyTransactional
     public List<ColumnDto> getAllColumnsInBoard(Long boardId) {
         return columnRepository.findByBoardIdOrderByPositionAsc(boardId)
                 .stream()
@@ -69,13 +95,14 @@ public class ColumnService {
                 .collect(Collectors.toList());
     }
 
+    @ReadOnlyTransactional
     public ColumnDto getColumnById(Long columnId) {
         User currentUser = getCurrentUser();
         Column column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
         // Verify user has access to the board's workspace
-        if (!column.getBoard().getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, column.getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("You don't have permission to access this column");
         }
 
@@ -87,29 +114,47 @@ public class ColumnService {
         Column column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
-        if (!column.getBoard().getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, column.getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("You don't have permission to update this column");
         }
+        verifyVersion(column, columnDto.getVersion());
 
         column.setTitle(columnDto.getTitle());
-        column.setPosition(columnDto.getPosition());
 
-        Column updatedColumn = columnRepository.save(column);
-        return convertToDto(updatedColumn);
+        // Flushed so the returned version is the one the client has to send next
+        Column updatedColumn = columnRepository.saveAndFlush(column);
+        ColumnDto updatedDto = convertToDto(updatedColumn);
+        if (columnDto.getPosition() != null && !columnDto.getPosition().equals(column.getPosition())) {
+            int position = moveColumn(column.getBoard().getId(), columnId, columnDto.getPosition());
+            if (!Objects.equals(position, column.getPosition())) {
+                // Moving bumped the version once more
+                updatedDto.setVersion(updatedDto.getVersion() + 1);
+            }
+            updatedDto.setPosition(position);
+        }
+        publishColumnEvent(BoardEventType.COLUMN_UPDATED, updatedDto);
+        return updatedDto;
     }
 
     @Transactional
-    public void deleteColumn(Long columnId) {
+    public void deleteColumn(Long columnId, Long expectedVersion) {
         User currentUser = getCurrentUser();
         Column column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
         // Verify user is workspace owner or board creator
-        if (!column.getBoard().getWorkspace().getOwner().equals(currentUser)) {
+        if (!column.getBoard().getWorkspace().getOwner().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("Only workspace owner can delete columns");
         }
+        verifyVersion(column, expectedVersion);
 
+        Long boardId = column.getBoard().getId();
         columnRepository.delete(column);
+        eventPublisher.publishEvent(boardEvent(boardId, BoardEventType.COLUMN_DELETED).columnId(columnId).build());
+
+        // Close the gap left by the deleted column
+        Map<Long, Integer> currentPositions = currentPositions(boardId);
+        applyOrder(boardId, new ArrayList<>(currentPositions.keySet()), currentPositions);
     }
     @Transactional
     public void reorderColumns(Long boardId, Long columnId, Integer newPosition) {
@@ -117,52 +162,218 @@ public class ColumnService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
 
-        if (!board.getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, board.getWorkspace().getId())) {
             throw new AccessDeniedException("No permission to reorder columns");
         }
 
-        Column column = columnRepository.findById(columnId)
-                .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
+        moveColumn(boardId, columnId, newPosition);
+    }
 
-        // Update positions of other columns
-        if (newPosition < column.getPosition()) {
-            columnRepository.incrementPositions(boardId, column.getPosition(), newPosition);
-        } else {
-            columnRepository.decrementPositions(boardId, column.getPosition(), newPosition);
+    /**
+     * Applies a complete new column order for the board in a single statement.
+     *
+     * @param columnIds every column id of the board, in the desired order
+     */
+    @Transactional
+    public void reorderBoardColumns(Long boardId, List<Long> columnIds) {
+        User currentUser = getCurrentUser();
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
+
+        if (!membershipService.isMember(currentUser, board.getWorkspace().getId())) {
+            throw new AccessDeniedException("No permission to reorder columns");
         }
 
-        column.setPosition(newPosition);
-        columnRepository.save(column);
+        Map<Long, Integer> currentPositions = currentPositions(boardId);
+        if (columnIds.size() != currentPositions.size()
+                || !new HashSet<>(columnIds).equals(currentPositions.keySet())) {
+            throw new BadRequestException("Column order must list every column of the board exactly once");
+        }
+        applyOrder(boardId, columnIds, currentPositions);
     }
+
+    @Transactional
     public List<ColumnDto> bulkUpdateColumns(List<ColumnUpdateDto> columnDtos) {
-        return columnDtos.stream()
-                .map(dto -> updateColumn(dto.getId(), dto))
+        User currentUser = getCurrentUser();
+        Map<Long, Column> columns = columnRepository.findAllById(
+                columnDtos.stream().map(ColumnUpdateDto::getId).collect(Collectors.toSet())
+        ).stream().collect(Collectors.toMap(Column::getId, Function.identity()));
+
+        for (ColumnUpdateDto dto : columnDtos) {
+            if (!columns.containsKey(dto.getId())) {
+                throw new ResourceNotFoundException("Column not found: " + dto.getId());
+            }
+            verifyVersion(columns.get(dto.getId()), dto.getVersion());
+        }
+
+        // One authorization check per workspace instead of one per column
+        columns.values().stream()
+                .map(column -> column.getBoard().getWorkspace().getId())
+                .distinct()
+                .forEach(workspaceId -> {
+                    if (!membershipService.isMember(currentUser, workspaceId)) {
+                        throw new AccessDeniedException("You don't have permission to update this column");
+                    }
+                });
+
+        Map<Long, Map<Long, Integer>> requestedPositionsByBoard = new HashMap<>();
+        for (ColumnUpdateDto dto : columnDtos) {
+            Column column = columns.get(dto.getId());
+            column.setTitle(dto.getTitle());
+            if (dto.getPosition() != null) {
+                requestedPositionsByBoard
+                        .computeIfAbsent(column.getBoard().getId(), boardId -> new HashMap<>())
+                        .put(column.getId(), dto.getPosition());
+            }
+        }
+
+        Map<Long, Integer> finalPositions = new HashMap<>();
+        requestedPositionsByBoard.forEach((boardId, requestedPositions) -> {
+            if (new HashSet<>(requestedPositions.values()).size() != requestedPositions.size()) {
+                throw new BadRequestException("Column positions must be unique within a board");
+            }
+
+            // The other columns shift around the moved ones, as when moving them one at a time
+            Map<Long, Integer> currentPositions = currentPositions(boardId);
+            List<Long> order = new ArrayList<>(currentPositions.keySet());
+            order.removeAll(requestedPositions.keySet());
+            requestedPositions.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .forEach(requested -> order.add(clampPosition(requested.getValue(), order.size()), requested.getKey()));
+            applyOrder(boardId, order, currentPositions);
+            for (int i = 0; i < order.size(); i++) {
+                finalPositions.put(order.get(i), i);
+            }
+        });
+
+        columnRepository.flush();
+        List<ColumnDto> updatedDtos = columnDtos.stream()
+                .map(dto -> {
+                    Column column = columns.get(dto.getId());
+                    ColumnDto updatedDto = convertToDto(column);
+                    Integer finalPosition = finalPositions.get(dto.getId());
+                    if (finalPosition != null && !finalPosition.equals(column.getPosition())) {
+                        // Moved by applyOrder, which bumped the version in the database
+                        updatedDto.setPosition(finalPosition);
+                        updatedDto.setVersion(updatedDto.getVersion() + 1);
+                    }
+                    return updatedDto;
+                })
                 .collect(Collectors.toList());
+        updatedDtos.stream()
+                .collect(Collectors.groupingBy(ColumnDto::getBoardId, LinkedHashMap::new, Collectors.toList()))
+                .forEach((boardId, dtos) -> eventPublisher.publishEvent(
+                        boardEvent(boardId, BoardEventType.COLUMNS_UPDATED).data(dtos).build()));
+        return updatedDtos;
     }
+    @ReadOnlyTransactional
     public int getColumnsCountInBoard(Long boardId) {
         return columnRepository.countByBoardId(boardId);
     }
+    @Transactional
     public ColumnDto duplicateColumn(Long columnId) {
         Column sourceColumn = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
+        if (!membershipService.isMember(getCurrentUser(), sourceColumn.getBoard().getWorkspace().getId())) {
+            throw new AccessDeniedException("You don't have permission to access this column");
+        }
+
+        Long boardId = sourceColumn.getBoard().getId();
+        Map<Long, Integer> currentPositions = currentPositions(boardId);
+        List<Long> order = new ArrayList<>(currentPositions.keySet());
+        int position = order.indexOf(columnId) + 1;
+
         Column newColumn = new Column();
         newColumn.setTitle(sourceColumn.getTitle() + " (Copy)");
-        newColumn.setPosition(sourceColumn.getPosition() + 1);
+        newColumn.setPosition(position);
         newColumn.setBoard(sourceColumn.getBoard());
 
-        Column savedColumn = columnRepository.save(newColumn);
+        Column savedColumn = columnRepository.saveAndFlush(newColumn);
+        ColumnDto savedDto = convertToDto(savedColumn);
+        publishColumnEvent(BoardEventType.COLUMN_CREATED, savedDto);
+        order.add(position, savedColumn.getId());
+        currentPositions.put(savedColumn.getId(), position);
+        applyOrder(boardId, order, currentPositions);
 
-        sourceColumn.getTasks().forEach(sourceTask -> {
-            Task newTask = new Task();
-            newTask.setTitle(sourceTask.getTitle());
-            newTask.setDescription(sourceTask.getDescription());
-            newTask.setPosition(sourceTask.getPosition());
-            newTask.setColumn(savedColumn);
-            taskRepository.save(newTask);
-        });
+        // Copied in the database, so the column's tasks are never loaded
+        taskRepository.copyTasks(Map.of(columnId, savedColumn.getId()));
+        taskSearchIndex.columnsChanged(List.of(savedColumn.getId()));
+
+        return savedDto;
+    }
+
+    // Moves one column to newPosition and returns the position it ended up at
+    private int moveColumn(Long boardId, Long columnId, Integer newPosition) {
+        Map<Long, Integer> currentPositions = currentPositions(boardId);
+        List<Long> order = new ArrayList<>(currentPositions.keySet());
+        if (!order.remove(columnId)) {
+            throw new ResourceNotFoundException("Column not found");
+        }
+        int position = clampPosition(newPosition, order.size());
+        order.add(position, columnId);
+        applyOrder(boardId, order, currentPositions);
+        return position;
+    }
+
+    // Column ids of the board in display order, mapped to the position currently stored for them
+    private Map<Long, Integer> currentPositions(Long boardId) {
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (ColumnPosition column : columnRepository.findPositionsByBoardId(boardId)) {
+            positions.put(column.getId(), column.getPosition());
+        }
+        return positions;
+    }
 
-        return convertToDto(savedColumn);
+    /**
+     * Makes the board's column positions the dense sequence 0..n-1 in the given order, with a single
+     * UPDATE that only touches the columns whose position actually changes and bumps their version.
+     * Fails with a conflict if any of those columns moved since currentPositions was read. Columns
+     * loaded in the session keep their old position and version.
+     */
+    private void applyOrder(Long boardId, List<Long> orderedColumnIds, Map<Long, Integer> currentPositions) {
+        Map<Long, Integer> changedPositions = new HashMap<>();
+        for (int position = 0; position < orderedColumnIds.size(); position++) {
+            Long columnId = orderedColumnIds.get(position);
+            if (!Integer.valueOf(position).equals(currentPositions.get(columnId))) {
+                changedPositions.put(columnId, position);
+            }
+        }
+        if (columnRepository.updatePositions(boardId, changedPositions, currentPositions) != changedPositions.size()) {
+            throw new ConflictException("The board's columns were reordered concurrently, reload them and retry");
+        }
+        if (!changedPositions.isEmpty()) {
+            eventPublisher.publishEvent(boardEvent(boardId, BoardEventType.COLUMNS_REORDERED)
+                    .data(List.copyOf(orderedColumnIds))
+                    .build());
+        }
+    }
+
+    private void publishColumnEvent(BoardEventType type, ColumnDto column) {
+        eventPublisher.publishEvent(boardEvent(column.getBoardId(), type)
+                .columnId(column.getId())
+                .data(column)
+                .build());
+    }
+
+    private static BoardEventDto.BoardEventDtoBuilder boardEvent(Long boardId, BoardEventType type) {
+        return BoardEventDto.builder()
+                .boardId(boardId)
+                .type(type)
+                .occurredAt(LocalDateTime.now());
+    }
+
+    private static void verifyVersion(Column column, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(column.getVersion())) {
+            throw new ConflictException("Column " + column.getId() + " was modified concurrently, reload it and retry");
+        }
+    }
+
+    private static int clampPosition(Integer requestedPosition, int columnCount) {
+        if (requestedPosition == null || requestedPosition > columnCount) {
+            return columnCount;
+        }
+        return Math.max(requestedPosition, 0);
     }
 
 }
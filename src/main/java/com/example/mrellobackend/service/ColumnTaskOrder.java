@@ -0,0 +1,79 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.repository.TaskOrderKey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory order of one column's tasks, so a batch of moves can be planned from a single read
+ * and written back as only the order keys that actually changed.
+ */
+final class ColumnTaskOrder {
+    private final List<Long> taskIds = new ArrayList<>();
+    private final List<Long> orderKeys = new ArrayList<>();
+    private final Map<Long, Long> loadedKeys = new HashMap<>();
+
+    /**
+     * @param rows order keys sorted by column, then display order
+     */
+    static Map<Long, ColumnTaskOrder> load(Collection<Long> columnIds, List<TaskOrderKey> rows) {
+        Map<Long, ColumnTaskOrder> orders = new HashMap<>();
+        columnIds.forEach(columnId -> orders.put(columnId, new ColumnTaskOrder()));
+        for (TaskOrderKey row : rows) {
+            ColumnTaskOrder order = orders.get(row.getColumnId());
+            order.taskIds.add(row.getId());
+            order.orderKeys.add(row.getOrderKey());
+            order.loadedKeys.put(row.getId(), row.getOrderKey());
+        }
+        return orders;
+    }
+
+    void remove(Long taskId) {
+        int index = taskIds.indexOf(taskId);
+        if (index >= 0) {
+            taskIds.remove(index);
+            orderKeys.remove(index);
+        }
+    }
+
+    /**
+     * Inserts the task at {@code position}, or at the end when null, re-spacing the column if its
+     * new neighbours have no gap left.
+     */
+    void insert(Long taskId, Integer position) {
+        int index = position == null ? taskIds.size() : Math.max(0, Math.min(position, taskIds.size()));
+        Long orderKey = keyAt(index);
+        if (orderKey == null) {
+            for (int i = 0; i < orderKeys.size(); i++) {
+                orderKeys.set(i, (i + 1) * OrderKeys.GAP);
+            }
+            orderKey = keyAt(index);
+        }
+        taskIds.add(index, taskId);
+        orderKeys.add(index, orderKey);
+    }
+
+    /**
+     * @return the new order key of every task whose key differs from what was loaded
+     */
+    Map<Long, Long> changedKeys() {
+        Map<Long, Long> changed = new HashMap<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            if (!orderKeys.get(i).equals(loadedKeys.get(taskIds.get(i)))) {
+                changed.put(taskIds.get(i), orderKeys.get(i));
+            }
+        }
+        return changed;
+    }
+
+    private Long keyAt(int index) {
+        return OrderKeys.between(
+                index > 0 ? orderKeys.get(index - 1) : null,
+                index < orderKeys.size() ? orderKeys.get(index) : null
+        );
+    }
+}
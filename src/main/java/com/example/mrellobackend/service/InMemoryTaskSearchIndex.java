@@ -0,0 +1,177 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.repository.TaskSearchDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index kept in memory, for dev profiles and tests without PostgreSQL. It is built from
+ * the database at startup and then follows task writes. Terms are lower-cased words without
+ * stemming. Title terms weigh more than description terms, and rare terms more than common ones.
+ */
+@Service
+@ConditionalOnProperty(name = "mrello.search.engine", havingValue = "memory")
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private record Document(Long workspaceId, Map<String, Integer> termWeights) {
+    }
+
+    private record ScoredTask(Long taskId, double score) {
+    }
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public InMemoryTaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        // Not read-only, so that with read replicas the index is built from the primary and not
+        // from a replica that may lag behind the changes indexed from then on
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskSearchDocument> documents = taskRepository.streamAllSearchDocuments()) {
+                documents.forEach(this::index);
+            }
+        });
+    }
+
+    @Override
+    public void taskSaved(Task task) {
+        Long workspaceId = task.getColumn() != null && task.getColumn().getBoard() != null
+                && task.getColumn().getBoard().getWorkspace() != null
+                ? task.getColumn().getBoard().getWorkspace().getId()
+                : null;
+        index(task.getId(), workspaceId, task.getTitle(), task.getDescription());
+    }
+
+    @Override
+    public void taskRemoved(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void columnsChanged(Collection<Long> columnIds) {
+        if (!columnIds.isEmpty()) {
+            taskRepository.findSearchDocumentsByColumnIdIn(columnIds).forEach(this::index);
+        }
+    }
+
+    @Override
+    public List<Hit> search(String query, Collection<Long> workspaceIds, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || workspaceIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> workspaces = new HashSet<>(workspaceIds);
+
+        lock.readLock().lock();
+        try {
+            // Intersect starting from the rarest term so the candidate set stays small
+            List<Set<Long>> termPostings = terms.stream()
+                    .map(term -> postings.getOrDefault(term, Set.of()))
+                    .sorted(Comparator.comparingInt(Set::size))
+                    .toList();
+            Set<Long> candidates = new HashSet<>(termPostings.get(0));
+            termPostings.subList(1, termPostings.size()).forEach(candidates::retainAll);
+
+            return candidates.stream()
+                    .filter(taskId -> workspaces.contains(documents.get(taskId).workspaceId()))
+                    .map(taskId -> new ScoredTask(taskId, score(documents.get(taskId), terms)))
+                    .sorted(Comparator.comparingDouble(ScoredTask::score).reversed()
+                            .thenComparing(ScoredTask::taskId))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(scored -> new Hit(scored.taskId(), scored.score()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(TaskSearchDocument document) {
+        index(document.getId(), document.getWorkspaceId(), document.getTitle(), document.getDescription());
+    }
+
+    void index(Long taskId, Long workspaceId, String title, String description) {
+        Map<String, Integer> termWeights = new HashMap<>();
+        tokenize(title).forEach(term -> termWeights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> termWeights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(taskId);
+            documents.put(taskId, new Document(workspaceId, termWeights));
+            termWeights.keySet().forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>()).add(taskId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void removeDocument(Long taskId) {
+        Document previous = documents.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        previous.termWeights().keySet().forEach(term -> {
+            Set<Long> taskIds = postings.get(term);
+            taskIds.remove(taskId);
+            if (taskIds.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    private double score(Document document, Set<String> terms) {
+        double score = 0;
+        for (String term : terms) {
+            double inverseFrequency = Math.log(1.0 + (double) documents.size() / postings.get(term).size());
+            score += document.termWeights().get(term) * inverseFrequency;
+        }
+        return score;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+}
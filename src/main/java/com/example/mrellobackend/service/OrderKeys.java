@@ -0,0 +1,35 @@
+package com.example.mrellobackend.service;
+
+/**
+ * Sparse numeric order keys for tasks within a column.
+ * <p>
+ * Keys are spaced {@link #GAP} apart, so moving a task only needs a key strictly between its new
+ * neighbours and rewrites a single row. When two neighbours end up adjacent the column is re-spaced.
+ */
+final class OrderKeys {
+    static final long GAP = 1L << 16;
+
+    private OrderKeys() {
+    }
+
+    /**
+     * @param before key of the task that will precede, or null when placing at the head
+     * @param after  key of the task that will follow, or null when placing at the tail
+     * @return a key strictly between both neighbours, or null when there is no gap left
+     */
+    static Long between(Long before, Long after) {
+        if (before == null && after == null) {
+            return GAP;
+        }
+        if (before == null) {
+            return after - GAP;
+        }
+        if (after == null) {
+            return before + GAP;
+        }
+        if (after - before < 2) {
+            return null;
+        }
+        return before + (after - before) / 2;
+    }
+}
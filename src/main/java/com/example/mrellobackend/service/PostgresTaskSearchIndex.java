@@ -0,0 +1,86 @@
+package com.example.mrellobackend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Search backed by a stored generated {@code tasks.search_vector} column (title weighted above
+ * description) and a GIN index, so PostgreSQL keeps the index current on every write, including
+ * native copies and COPY imports.
+ */
+@Service
+@ConditionalOnProperty(name = "mrello.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTaskSearchIndex implements TaskSearchIndex, SmartInitializingSingleton {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate schemaTransaction;
+    private final String textSearchConfig;
+
+    public PostgresTaskSearchIndex(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${mrello.search.text-config:english}") String textSearchConfig) {
+        if (!textSearchConfig.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("Invalid text search configuration: " + textSearchConfig);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.schemaTransaction = new TransactionTemplate(transactionManager);
+        this.textSearchConfig = textSearchConfig;
+    }
+
+    /**
+     * Hibernate does not map the column, so it is added once the schema exists: after every
+     * singleton, the entity manager factory included, is built and before the web server takes
+     * requests. Instances starting together serialize on an advisory lock held for the
+     * transaction, and both statements are no-ops once the column and index are there.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        schemaTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('mrello.tasks.search_vector'))");
+            jdbcTemplate.execute("ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('" + textSearchConfig + "', coalesce(title, '')), 'A') || " +
+                    "setweight(to_tsvector('" + textSearchConfig + "', coalesce(description, '')), 'B')) STORED");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector)");
+        });
+    }
+
+    @Override
+    public List<Hit> search(String query, Collection<Long> workspaceIds, int offset, int limit) {
+        if (workspaceIds.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT t.id, ts_rank(t.search_vector, q.query) AS rank " +
+                                "FROM tasks t " +
+                                "JOIN columns c ON c.id = t.column_id " +
+                                "JOIN boards b ON b.id = c.board_id " +
+                                "CROSS JOIN websearch_to_tsquery(CAST(?1 AS regconfig), ?2) AS q(query) " +
+                                "WHERE b.workspace_id IN (?3) AND t.search_vector @@ q.query " +
+                                "ORDER BY rank DESC, t.id ASC " +
+                                "LIMIT ?4 OFFSET ?5")
+                .setParameter(1, textSearchConfig)
+                .setParameter(2, query)
+                .setParameter(3, workspaceIds)
+                .setParameter(4, limit)
+                .setParameter(5, offset)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new Hit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .toList();
+    }
+}
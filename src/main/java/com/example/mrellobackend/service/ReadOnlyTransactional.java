@@ -0,0 +1,19 @@
+package com.example.mrellobackend.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only transaction for service methods that never write. Hibernate skips dirty checking and
+ * flushing, and when read replicas are configured the connection may come from one of them
+ * (see {@code ReplicaRoutingDataSource}). Joins a surrounding read-write transaction as usual.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
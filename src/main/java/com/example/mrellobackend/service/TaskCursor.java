@@ -0,0 +1,64 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset cursor pointing at the last task of a page: its sort key (order key or due date), its id
+ * and, for column pages, its position. Search pages, which are ranked, only use the position as
+ * the offset of the next page. Clients only see it as an opaque base64url string.
+ */
+record TaskCursor(String sortKey, long id, int position) {
+
+    static TaskCursor afterOrderKey(long orderKey, long id, int position) {
+        return new TaskCursor(String.valueOf(orderKey), id, position);
+    }
+
+    static TaskCursor afterDueDate(LocalDate dueDate, long id) {
+        return new TaskCursor(dueDate != null ? dueDate.toString() : "", id, 0);
+    }
+
+    static TaskCursor atOffset(int offset) {
+        return new TaskCursor("", 0, offset);
+    }
+
+    /**
+     * @return the decoded cursor, or null for the first page
+     */
+    static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            return new TaskCursor(parts[0], Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sortKey + "|" + id + "|" + position;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    long orderKey() {
+        try {
+            return Long.parseLong(sortKey);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Null when the last task had no due date
+    LocalDate dueDate() {
+        try {
+            return sortKey.isEmpty() ? null : LocalDate.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
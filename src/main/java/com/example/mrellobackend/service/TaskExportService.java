@@ -0,0 +1,106 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.auth.user.CurrentUserContext;
+import com.example.mrellobackend.dao.TaskFileFormat;
+import com.example.mrellobackend.dto.TaskExportDto;
+import com.example.mrellobackend.exception.AccessDeniedException;
+import com.example.mrellobackend.exception.ResourceNotFoundException;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.repository.WorkspaceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Streams every task of a workspace to the response as NDJSON or CSV. Rows go from a JDBC cursor
+ * straight to the output stream, so memory use does not depend on the workspace size.
+ */
+@Service
+public class TaskExportService {
+
+    private final TaskRepository taskRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final CurrentUserContext currentUserContext;
+    private final WorkspaceMembershipService membershipService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public TaskExportService(TaskRepository taskRepository,
+                             WorkspaceRepository workspaceRepository,
+                             CurrentUserContext currentUserContext,
+                             WorkspaceMembershipService membershipService,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.currentUserContext = currentUserContext;
+        this.membershipService = membershipService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writerFor(TaskExportDto.class).withRootValueSeparator("\n");
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.csvWriter = csvMapper.writerFor(TaskExportDto.class)
+                .with(csvMapper.schemaFor(TaskExportDto.class).withHeader());
+    }
+
+    /**
+     * Checks access on the calling thread and returns the body that writes the export. The body
+     * runs later on the async request thread and opens its own read-only transaction.
+     */
+    public StreamingResponseBody exportWorkspaceTasks(Long workspaceId, TaskFileFormat format) {
+        if (!workspaceRepository.existsById(workspaceId)) {
+            throw new ResourceNotFoundException("Workspace not found with id: " + workspaceId);
+        }
+        if (!membershipService.isMember(currentUserContext.getCurrentUser(), workspaceId)) {
+            throw new AccessDeniedException("You don't have permission to access this workspace");
+        }
+
+        ObjectWriter writer = format == TaskFileFormat.CSV ? csvWriter : ndjsonWriter;
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskExportDto> rows = taskRepository.streamExportRowsByWorkspaceId(workspaceId);
+                 SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+                Long[] currentColumnId = {null};
+                int[] position = {0};
+                rows.forEach(row -> {
+                    // Rows arrive in column order, so positions are numbered as they stream by
+                    if (!Objects.equals(row.getColumnId(), currentColumnId[0])) {
+                        currentColumnId[0] = row.getColumnId();
+                        position[0] = 0;
+                    }
+                    row.setPosition(position[0]++);
+                    write(sequenceWriter, row);
+                });
+                if (format == TaskFileFormat.NDJSON) {
+                    sequenceWriter.flush();
+                    outputStream.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void write(SequenceWriter sequenceWriter, TaskExportDto row) {
+        try {
+            sequenceWriter.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.auth.user.CurrentUserContext;
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.dao.BoardEventType;
+import com.example.mrellobackend.dao.TaskFileFormat;
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.dto.BoardEventDto;
+import com.example.mrellobackend.dto.TaskImportDto;
+import com.example.mrellobackend.dto.TaskImportErrorDto;
+import com.example.mrellobackend.dto.TaskImportResultDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.exception.AccessDeniedException;
+import com.example.mrellobackend.exception.ResourceNotFoundException;
+import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads tasks from an uploaded NDJSON or CSV file into a column or a board. The file is read as
+ * a stream and written in chunks, each chunk in its own transaction through
+ * {@link TaskRepository#bulkInsert}. Invalid rows are reported and skipped, not fatal.
+ */
+@Service
+public class TaskImportService {
+
+    // Length of the title and description columns, checked up front so a long value fails its own row only
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final TaskRepository taskRepository;
+    private final ColumnRepository columnRepository;
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
+    private final WorkspaceMembershipService membershipService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public TaskImportService(TaskRepository taskRepository,
+                             ColumnRepository columnRepository,
+                             BoardRepository boardRepository,
+                             UserRepository userRepository,
+                             CurrentUserContext currentUserContext,
+                             WorkspaceMembershipService membershipService,
+                             TaskSearchIndex taskSearchIndex,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${task.import.chunk-size:1000}") int chunkSize,
+                             @Value("${task.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.taskRepository = taskRepository;
+        this.columnRepository = columnRepository;
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+        this.currentUserContext = currentUserContext;
+        this.membershipService = membershipService;
+        this.taskSearchIndex = taskSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ndjsonReader = objectMapper.readerFor(TaskImportDto.class)
+                .with(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public TaskImportResultDto importIntoColumn(Long columnId, InputStream input, TaskFileFormat format) {
+        Column column = columnRepository.findById(columnId)
+                .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
+        verifyAccess(column.getBoard());
+
+        return load(input, format, column.getBoard().getId(), row -> column);
+    }
+
+    public TaskImportResultDto importIntoBoard(Long boardId, InputStream input, TaskFileFormat format) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with id: " + boardId));
+        verifyAccess(board);
+
+        Map<Long, Column> columnsById = new HashMap<>();
+        Map<String, Column> columnsByTitle = new HashMap<>();
+        for (Column column : columnRepository.findByBoardIdOrderByPositionAsc(boardId)) {
+            columnsById.put(column.getId(), column);
+            if (column.getTitle() != null) {
+                columnsByTitle.putIfAbsent(column.getTitle(), column);
+            }
+        }
+        return load(input, format, boardId, row -> {
+            Column column = row.getColumnId() != null ? columnsById.get(row.getColumnId()) : null;
+            if (column == null && row.getColumnTitle() != null) {
+                column = columnsByTitle.get(row.getColumnTitle());
+            }
+            return column;
+        });
+    }
+
+    // Checked once per import; load() then rejects every row whose column is not on this board
+    private void verifyAccess(Board board) {
+        if (!membershipService.isMember(currentUserContext.getCurrentUser(), board.getWorkspace().getId())) {
+            throw new AccessDeniedException("No permission to create tasks in this board");
+        }
+    }
+
+    private record PendingRow(long line, Task task) {
+    }
+
+    private TaskImportResultDto load(InputStream input,
+                                     TaskFileFormat format,
+                                     Long boardId,
+                                     Function<TaskImportDto, Column> columnResolver) {
+        TaskImportResultDto result = TaskImportResultDto.builder().errors(new ArrayList<>()).build();
+        Set<Long> knownUserIds = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        BiConsumer<Long, String> reportError = (line, message) -> {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(TaskImportErrorDto.builder().line(line).message(message).build());
+            }
+        };
+        RowHandler handler = (line, row, parseError) -> {
+            if (parseError != null) {
+                reportError.accept(line, parseError);
+                return;
+            }
+            String error = validate(row);
+            Column column = columnResolver.apply(row);
+            if (error == null && column == null) {
+                error = "Unknown column";
+            }
+            if (error == null && !boardId.equals(column.getBoard().getId())) {
+                error = "Column " + column.getId() + " does not belong to board " + boardId;
+            }
+            if (error != null) {
+                reportError.accept(line, error);
+                return;
+            }
+            chunk.add(new PendingRow(line, toTask(row, column)));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, knownUserIds, result, reportError);
+            }
+        };
+
+        try {
+            if (format == TaskFileFormat.CSV) {
+                readCsv(input, handler);
+            } else {
+                readNdjson(input, handler);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeChunk(chunk, knownUserIds, result, reportError);
+        return result;
+    }
+
+    private interface RowHandler {
+        void handle(long line, TaskImportDto row, String parseError);
+    }
+
+    private void readNdjson(InputStream input, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                handler.handle(line, ndjsonReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                handler.handle(line, null, "Malformed row: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, RowHandler handler) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(input)) {
+            while (rows.hasNextValue()) {
+                long line = rows.getCurrentLocation().getLineNr();
+                Map<String, String> values = rows.nextValue();
+                try {
+                    handler.handle(line, csvMapper.convertValue(values, TaskImportDto.class), null);
+                } catch (IllegalArgumentException e) {
+                    handler.handle(line, null, "Malformed row: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String validate(TaskImportDto row) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (row.getTitle().length() > MAX_TEXT_LENGTH) {
+            return "Title is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.getDescription() != null && row.getDescription().length() > MAX_TEXT_LENGTH) {
+            return "Description is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            try {
+                TaskStatus.valueOf(row.getStatus().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Invalid status: " + row.getStatus();
+            }
+        }
+        return null;
+    }
+
+    private static Task toTask(TaskImportDto row, Column column) {
+        Task task = new Task();
+        task.setTitle(row.getTitle());
+        task.setDescription(row.getDescription());
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            task.setStatus(TaskStatus.valueOf(row.getStatus().trim().toUpperCase(Locale.ROOT)));
+        }
+        task.setDueDate(row.getDueDate());
+        task.setColumn(column);
+        if (row.getAssignedUserId() != null) {
+            task.setAssignedUser(User.builder().id(row.getAssignedUserId()).build());
+        }
+        return task;
+    }
+
+    /**
+     * Checks assignees and appends the chunk's remaining rows to the end of their columns.
+     */
+    private void writeChunk(List<PendingRow> chunk,
+                            Set<Long> knownUserIds,
+                            TaskImportResultDto result,
+                            BiConsumer<Long, String> reportError) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> assigneeIds = new HashSet<>();
+        chunk.forEach(row -> {
+            User assignee = row.task().getAssignedUser();
+            if (assignee != null && !knownUserIds.contains(assignee.getId())) {
+                assigneeIds.add(assignee.getId());
+            }
+        });
+        if (!assigneeIds.isEmpty()) {
+            userRepository.findAllById(assigneeIds).forEach(user -> knownUserIds.add(user.getId()));
+        }
+
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            User assignee = row.task().getAssignedUser();
+            if (assignee != null && !knownUserIds.contains(assignee.getId())) {
+                reportError.accept(row.line(), "Assignee not found: " + assignee.getId());
+            } else {
+                valid.add(row);
+            }
+        }
+        chunk.clear();
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        insert(valid, result, reportError);
+    }
+
+    /**
+     * Writes the rows in one transaction. If the database still rejects something validation did
+     * not catch, the rows are split in halves and retried, so only the failing rows are reported.
+     * The target columns are locked and their last order key read again in every transaction, as
+     * other writers may have appended to them since the previous chunk.
+     */
+    private void insert(List<PendingRow> rows,
+                        TaskImportResultDto result,
+                        BiConsumer<Long, String> reportError) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Task> tasks = rows.stream().map(PendingRow::task).toList();
+                List<Long> ids = taskRepository.allocateIds(tasks.size());
+                Set<Long> columnIds = tasks.stream().map(task -> task.getColumn().getId()).collect(Collectors.toSet());
+                columnRepository.lockAllByIdIn(columnIds);
+                Map<Long, Long> nextOrderKeys = new HashMap<>();
+                for (int i = 0; i < tasks.size(); i++) {
+                    Task task = tasks.get(i);
+                    Long columnId = task.getColumn().getId();
+                    long orderKey = nextOrderKeys.computeIfAbsent(columnId, id -> {
+                        Long max = taskRepository.findMaxOrderKey(id, null);
+                        return (max != null ? max : 0L) + OrderKeys.GAP;
+                    });
+                    nextOrderKeys.put(columnId, orderKey + OrderKeys.GAP);
+                    task.setId(ids.get(i));
+                    task.setOrderKey(orderKey);
+                }
+                taskRepository.bulkInsert(tasks);
+                taskSearchIndex.columnsChanged(columnIds);
+                // Imports target a single board; subscribers reload the listed columns
+                eventPublisher.publishEvent(BoardEventDto.builder()
+                        .boardId(tasks.get(0).getColumn().getBoard().getId())
+                        .type(BoardEventType.TASKS_IMPORTED)
+                        .data(List.copyOf(columnIds))
+                        .occurredAt(LocalDateTime.now())
+                        .build());
+            });
+            result.setImported(result.getImported() + rows.size());
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                reportError.accept(rows.get(0).line(), "Could not write row: " + e.getMessage());
+                return;
+            }
+            int half = rows.size() / 2;
+            insert(rows.subList(0, half), result, reportError);
+            insert(rows.subList(half, rows.size()), result, reportError);
+        }
+    }
+}
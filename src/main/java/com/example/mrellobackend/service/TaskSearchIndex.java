@@ -0,0 +1,37 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.entity.Task;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text index over task titles and descriptions. The implementation is picked with
+ * {@code mrello.search.engine}: {@code postgres} (tsvector column with a GIN index) or
+ * {@code memory} (in-process inverted index for dev profiles and tests).
+ */
+public interface TaskSearchIndex {
+
+    record Hit(Long taskId, double rank) {
+    }
+
+    /**
+     * Tasks of the given workspaces that match every term of the query, best match first
+     * (ties by id).
+     */
+    List<Hit> search(String query, Collection<Long> workspaceIds, int offset, int limit);
+
+    // Change notifications; an index maintained by the database can ignore them
+
+    default void taskSaved(Task task) {
+    }
+
+    default void taskRemoved(Long taskId) {
+    }
+
+    /**
+     * Called after tasks were written to these columns outside of Hibernate (copies, imports).
+     */
+    default void columnsChanged(Collection<Long> columnIds) {
+    }
+}
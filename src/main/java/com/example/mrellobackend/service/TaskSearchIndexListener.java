@@ -0,0 +1,33 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.entity.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that forwards task writes to the search index. The index is looked up lazily
+ * because Hibernate creates its listeners while the repositories are still being set up.
+ */
+@Component
+public class TaskSearchIndexListener {
+
+    private final ObjectProvider<TaskSearchIndex> searchIndex;
+
+    public TaskSearchIndexListener(ObjectProvider<TaskSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Task task) {
+        searchIndex.ifAvailable(index -> index.taskSaved(task));
+    }
+
+    @PostRemove
+    void onRemove(Task task) {
+        searchIndex.ifAvailable(index -> index.taskRemoved(task.getId()));
+    }
+}
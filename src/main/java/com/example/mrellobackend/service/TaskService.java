@@ -1,40 +1,69 @@
 package com.example.mrellobackend.service;
 
+import com.example.mrellobackend.auth.user.CurrentUserContext;
 import com.example.mrellobackend.auth.user.User;
 import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.dao.BoardEventType;
 import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.dto.BoardEventDto;
 import com.example.mrellobackend.dto.TaskBulkUpdateDto;
 import com.example.mrellobackend.dto.TaskCreateDto;
 import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.dto.TaskPageDto;
 import com.example.mrellobackend.dto.TaskUpdateDto;
 import com.example.mrellobackend.entity.Column;
 import com.example.mrellobackend.entity.Task;
 import com.example.mrellobackend.exception.AccessDeniedException;
+import com.example.mrellobackend.exception.BadRequestException;
+import com.example.mrellobackend.exception.ConflictException;
 import com.example.mrellobackend.exception.ResourceNotFoundException;
 import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.ColumnTail;
+import com.example.mrellobackend.repository.TaskOrderKey;
 import com.example.mrellobackend.repository.TaskRepository;
 import com.example.mrellobackend.repository.WorkspaceRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "mrello.service", histogram = true)
 public class TaskService {
     private final TaskRepository taskRepository;
     private final ColumnRepository columnRepository;
     private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
     private final WorkspaceRepository workspaceRepository;
+    private final WorkspaceMembershipService membershipService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${task.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${task.page.max-size:500}")
+    private int maxPageSize;
 
     private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found!"));
+        return currentUserContext.getCurrentUser();
     }
 
     @Transactional
@@ -44,7 +73,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
         // Verify user has access to the board
-        if (!column.getBoard().getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, column.getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("No permission to create tasks in this column");
         }
 
@@ -53,7 +82,7 @@ public class TaskService {
         task.setDescription(taskDto.getDescription());
         task.setStatus(taskDto.getStatus());
         task.setDueDate(taskDto.getDueDate());
-        task.setPosition(taskRepository.countByColumnId(column.getId())); // Add to end
+        int position = placeTask(task, column.getId(), null); // Add to end
         task.setColumn(column);
 
         if (taskDto.getAssignedUserId() != null) {
@@ -63,9 +92,12 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
-        return convertToDto(savedTask);
+        TaskDto savedDto = convertToDto(savedTask, position);
+        publishTaskEvent(column.getBoard().getId(), BoardEventType.TASK_CREATED, savedDto);
+        return savedDto;
     }
 
+    @ReadOnlyTransactional
     public TaskDto getTaskById(Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
@@ -74,15 +106,30 @@ public class TaskService {
         return convertToDto(task);
     }
 
-    public List<TaskDto> getTasksByColumnId(Long columnId) {
+    @ReadOnlyTransactional
+    public TaskPageDto getTasksByColumnId(Long columnId, String cursor, Integer size) {
         Column column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
 
         verifyColumnAccess(column);
-        return taskRepository.findByColumnIdOrderByPositionAsc(columnId)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        List<Task> tasks = after == null
+                ? taskRepository.findByColumnIdOrderByOrderKeyAscIdAsc(columnId, Limit.of(pageSize + 1))
+                : taskRepository.findColumnPageAfter(columnId, after.orderKey(), after.id(), Limit.of(pageSize + 1));
+
+        // Positions continue from the cursor instead of being counted again
+        int firstPosition = after == null ? 0 : after.position() + 1;
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        Task last = hasMore ? page.get(pageSize - 1) : null;
+        return TaskPageDto.builder()
+                .items(convertColumnToDtos(page, firstPosition))
+                .nextCursor(hasMore
+                        ? TaskCursor.afterOrderKey(last.getOrderKey(), last.getId(), firstPosition + pageSize - 1).encode()
+                        : null)
+                .build();
     }
     @Transactional
     public TaskDto updateTask(Long taskId, TaskUpdateDto taskDto) {
@@ -90,6 +137,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
         verifyTaskAccess(task);
+        verifyVersion(task, taskDto.getVersion());
 
         if (taskDto.getTitle() != null) task.setTitle(taskDto.getTitle());
         if (taskDto.getDescription() != null) task.setDescription(taskDto.getDescription());
@@ -97,21 +145,28 @@ public class TaskService {
         if (taskDto.getDueDate() != null) task.setDueDate(taskDto.getDueDate());
 
         Task updatedTask = taskRepository.save(task);
-        return convertToDto(updatedTask);
+        TaskDto updatedDto = convertToDto(updatedTask);
+        publishTaskEvent(task.getColumn().getBoard().getId(), BoardEventType.TASK_UPDATED, updatedDto);
+        return updatedDto;
     }
 
     @Transactional
-    public void deleteTask(Long taskId) {
+    public void deleteTask(Long taskId, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
         verifyTaskDeletionPermission(task);
+        verifyVersion(task, expectedVersion);
+        Long boardId = task.getColumn().getBoard().getId();
+        Long columnId = task.getColumn().getId();
         taskRepository.delete(task);
-
-        taskRepository.decrementPositions(task.getColumn().getId(), task.getPosition());
+        eventPublisher.publishEvent(boardEvent(boardId, BoardEventType.TASK_DELETED)
+                .taskId(taskId)
+                .columnId(columnId)
+                .build());
     }
     @Transactional
-    public TaskDto moveTask(Long taskId, Long newColumnId, Integer newPosition) {
+    public TaskDto moveTask(Long taskId, Long newColumnId, Integer newPosition, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
         Column newColumn = columnRepository.findById(newColumnId)
@@ -119,142 +174,369 @@ public class TaskService {
 
         verifyTaskAccess(task);
         verifyColumnAccess(newColumn);
+        verifyVersion(task, expectedVersion);
 
-        if (newPosition == null) {
-            newPosition = taskRepository.countByColumnId(newColumnId);
+        Long sourceBoardId = task.getColumn().getBoard().getId();
+        Long sourceColumnId = task.getColumn().getId();
+        if (sourceColumnId.equals(newColumnId)) {
+            // Nothing but the order key changes, which on its own would leave the version alone
+            taskRepository.incrementVersion(task);
         }
-
-        taskRepository.decrementPositions(task.getColumn().getId(), task.getPosition());
-
-        taskRepository.incrementPositions(newColumnId, newPosition);
-
+        int position = placeTask(task, newColumnId, newPosition);
         task.setColumn(newColumn);
-        task.setPosition(newPosition);
 
         Task movedTask = taskRepository.save(task);
-        return convertToDto(movedTask);
+        TaskDto movedDto = convertToDto(movedTask, position);
+        // The column the task left is named only in the event of the board it belongs to
+        List<Long> sourceColumnIds = sourceColumnId.equals(newColumnId) ? List.of() : List.of(sourceColumnId);
+        if (sourceBoardId.equals(newColumn.getBoard().getId())) {
+            publishTaskEvent(sourceBoardId, BoardEventType.TASK_MOVED, movedDto, sourceColumnIds);
+        } else {
+            publishTaskEvent(newColumn.getBoard().getId(), BoardEventType.TASK_MOVED, movedDto, List.of());
+            publishTaskEvent(sourceBoardId, BoardEventType.TASK_MOVED, movedDto, sourceColumnIds);
+        }
+        return movedDto;
     }
     @Transactional
-    public void reorderTask(Long taskId, Integer newPosition) {
+    public void reorderTask(Long taskId, Integer newPosition, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
         verifyTaskAccess(task);
+        verifyVersion(task, expectedVersion);
+        taskRepository.incrementVersion(task);
 
-        if (task.getPosition() < newPosition) {
-            taskRepository.decrementPositionsInRange(
-                    task.getColumn().getId(),
-                    task.getPosition() + 1,
-                    newPosition
-            );
-        } else {
-            taskRepository.incrementPositionsInRange(
-                    task.getColumn().getId(),
-                    newPosition,
-                    task.getPosition() - 1
-            );
-        }
-
-        task.setPosition(newPosition);
-        taskRepository.save(task);
+        int position = placeTask(task, task.getColumn().getId(), newPosition);
+        Task reorderedTask = taskRepository.save(task);
+        publishTaskEvent(task.getColumn().getBoard().getId(), BoardEventType.TASK_MOVED, convertToDto(reorderedTask, position));
     }
     @Transactional
-    public TaskDto changeAssignee(Long taskId, Long userId) {
+    public TaskDto changeAssignee(Long taskId, Long userId, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
         User assignee = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         verifyTaskAccess(task);
+        verifyVersion(task, expectedVersion);
 
-        if (!task.getColumn().getBoard().getWorkspace().getMembers().contains(assignee)) {
+        if (!membershipService.isMember(assignee, task.getColumn().getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("Assignee must be a workspace member");
         }
 
         task.setAssignedUser(assignee);
         Task updatedTask = taskRepository.save(task);
-        return convertToDto(updatedTask);
+        TaskDto updatedDto = convertToDto(updatedTask);
+        publishTaskEvent(task.getColumn().getBoard().getId(), BoardEventType.TASK_UPDATED, updatedDto);
+        return updatedDto;
     }
     @Transactional
-    public TaskDto updateStatus(Long taskId, String status) {
+    public TaskDto updateStatus(Long taskId, String status, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
         verifyTaskAccess(task);
+        verifyVersion(task, expectedVersion);
         task.setStatus(TaskStatus.valueOf(status.toUpperCase()));
 
         Task updatedTask = taskRepository.save(task);
-        return convertToDto(updatedTask);
+        TaskDto updatedDto = convertToDto(updatedTask);
+        publishTaskEvent(task.getColumn().getBoard().getId(), BoardEventType.TASK_UPDATED, updatedDto);
+        return updatedDto;
     }
 
+    /**
+     * Applies a batch of task updates in one pass: tasks, columns and assignees are each fetched
+     * with a single IN query, access is checked once per workspace, and the resulting row updates
+     * are flushed as JDBC batches.
+     */
     @Transactional
     public List<TaskDto> bulkUpdateTasks(List<TaskBulkUpdateDto> taskDtos) {
-        return taskDtos.stream()
-                .map(dto -> {
-                    Task task = taskRepository.findById(dto.getId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + dto.getId()));
+        User currentUser = getCurrentUser();
 
-                    verifyTaskAccess(task);
+        Map<Long, Task> tasks = taskRepository.findAllWithBoardByIdIn(collectIds(taskDtos, TaskBulkUpdateDto::getId))
+                .stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, Column> columns = columnRepository.findAllWithBoardByIdIn(collectIds(taskDtos, TaskBulkUpdateDto::getColumnId))
+                .stream().collect(Collectors.toMap(Column::getId, Function.identity()));
+        Map<Long, User> assignees = userRepository.findAllById(collectIds(taskDtos, TaskBulkUpdateDto::getAssignedUserId))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Access first: versions of tasks the user cannot see must not be revealed through a 409
+        verifyWorkspaceAccess(currentUser, tasks.values().stream().map(Task::getColumn),
+                "No permission to access this task");
+        verifyWorkspaceAccess(currentUser, columns.values().stream(),
+                "No permission to access this column");
+
+        for (TaskBulkUpdateDto dto : taskDtos) {
+            if (!tasks.containsKey(dto.getId())) {
+                throw new ResourceNotFoundException("Task not found: " + dto.getId());
+            }
+            verifyVersion(tasks.get(dto.getId()), dto.getVersion());
+            if (dto.getColumnId() != null && !columns.containsKey(dto.getColumnId())) {
+                throw new ResourceNotFoundException("Column not found");
+            }
+            if (dto.getAssignedUserId() != null && !assignees.containsKey(dto.getAssignedUserId())) {
+                throw new ResourceNotFoundException("User not found");
+            }
+        }
 
-                    if (dto.getColumnId() != null) {
-                        Column newColumn = columnRepository.findById(dto.getColumnId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
-                        verifyColumnAccess(newColumn);
-                        task.setColumn(newColumn);
-                    }
+        Map<Long, Long> sourceBoardOfTask = new HashMap<>();
+        Map<Long, Long> sourceColumnOfTask = new HashMap<>();
+        tasks.values().forEach(task -> {
+            sourceBoardOfTask.put(task.getId(), task.getColumn().getBoard().getId());
+            sourceColumnOfTask.put(task.getId(), task.getColumn().getId());
+        });
+
+        // Resolve the column each update lands in, following earlier moves of the same task
+        Map<Long, Long> columnOfTask = new HashMap<>();
+        tasks.values().forEach(task -> columnOfTask.put(task.getId(), task.getColumn().getId()));
+        List<Long> targetColumnIds = new ArrayList<>(taskDtos.size());
+        Set<Long> reorderedColumnIds = new HashSet<>();
+        for (TaskBulkUpdateDto dto : taskDtos) {
+            Long targetColumnId = dto.getColumnId() != null ? dto.getColumnId() : columnOfTask.get(dto.getId());
+            columnOfTask.put(dto.getId(), targetColumnId);
+            targetColumnIds.add(targetColumnId);
+            if (dto.getPosition() != null || dto.getColumnId() != null) {
+                reorderedColumnIds.add(targetColumnId);
+            }
+        }
 
-                    if (dto.getPosition() != null) task.setPosition(dto.getPosition());
-                    if (dto.getStatus() != null) task.setStatus(TaskStatus.valueOf(dto.getStatus().toUpperCase()));
-                    if (dto.getAssignedUserId() != null) {
-                        User assignee = userRepository.findById(dto.getAssignedUserId())
-                                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-                        task.setAssignedUser(assignee);
+        // Plan every move against the current order of the affected columns, read in one query
+        Map<Long, ColumnTaskOrder> orders = reorderedColumnIds.isEmpty()
+                ? Map.of()
+                : ColumnTaskOrder.load(reorderedColumnIds, taskRepository.findOrderKeysByColumnIdIn(reorderedColumnIds));
+
+        List<Task> updatedTasks = new ArrayList<>(taskDtos.size());
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskBulkUpdateDto dto = taskDtos.get(i);
+            Task task = tasks.get(dto.getId());
+            Long targetColumnId = targetColumnIds.get(i);
+            boolean moved = !targetColumnId.equals(task.getColumn().getId());
+
+            if (dto.getPosition() != null || moved) {
+                ColumnTaskOrder sourceOrder = orders.get(task.getColumn().getId());
+                if (sourceOrder != null) {
+                    sourceOrder.remove(task.getId());
+                }
+                orders.get(targetColumnId).insert(task.getId(), dto.getPosition());
+            }
+            if (moved) {
+                task.setColumn(columns.get(targetColumnId));
+            }
+            if (dto.getStatus() != null) task.setStatus(TaskStatus.valueOf(dto.getStatus().toUpperCase()));
+            if (dto.getAssignedUserId() != null) task.setAssignedUser(assignees.get(dto.getAssignedUserId()));
+
+            updatedTasks.add(task);
+        }
+
+        Map<Long, Long> changedKeys = new HashMap<>();
+        orders.values().forEach(order -> changedKeys.putAll(order.changedKeys()));
+        changedKeys.forEach((taskId, orderKey) -> {
+            if (tasks.containsKey(taskId)) {
+                tasks.get(taskId).setOrderKey(orderKey);
+            }
+        });
+        taskRepository.updateOrderKeys(changedKeys);
+
+        List<TaskDto> updatedDtos = convertToDtos(updatedTasks);
+
+        // One event per board, listing the updated tasks that are on it now or were before
+        Map<Long, List<TaskDto>> dtosByBoard = new LinkedHashMap<>();
+        Map<Long, Set<Long>> sourceColumnsByBoard = new HashMap<>();
+        for (int i = 0; i < updatedTasks.size(); i++) {
+            Task task = updatedTasks.get(i);
+            Long boardId = task.getColumn().getBoard().getId();
+            Long sourceBoardId = sourceBoardOfTask.get(task.getId());
+            Long sourceColumnId = sourceColumnOfTask.get(task.getId());
+            dtosByBoard.computeIfAbsent(boardId, id -> new ArrayList<>()).add(updatedDtos.get(i));
+            if (!sourceBoardId.equals(boardId)) {
+                dtosByBoard.computeIfAbsent(sourceBoardId, id -> new ArrayList<>()).add(updatedDtos.get(i));
+            }
+            if (!sourceColumnId.equals(task.getColumn().getId())) {
+                sourceColumnsByBoard.computeIfAbsent(sourceBoardId, id -> new HashSet<>()).add(sourceColumnId);
+            }
+        }
+        dtosByBoard.forEach((boardId, dtos) -> eventPublisher.publishEvent(
+                boardEvent(boardId, BoardEventType.TASKS_UPDATED)
+                        .sourceColumnIds(new ArrayList<>(sourceColumnsByBoard.getOrDefault(boardId, Set.of())))
+                        .data(dtos)
+                        .build()));
+
+        return updatedDtos;
+    }
+
+    private void publishTaskEvent(Long boardId, BoardEventType type, TaskDto task) {
+        publishTaskEvent(boardId, type, task, List.of());
+    }
+
+    private void publishTaskEvent(Long boardId, BoardEventType type, TaskDto task, List<Long> sourceColumnIds) {
+        eventPublisher.publishEvent(boardEvent(boardId, type)
+                .taskId(task.getId())
+                .columnId(task.getColumnId())
+                .sourceColumnIds(sourceColumnIds)
+                .data(task)
+                .build());
+    }
+
+    private static BoardEventDto.BoardEventDtoBuilder boardEvent(Long boardId, BoardEventType type) {
+        return BoardEventDto.builder()
+                .boardId(boardId)
+                .type(type)
+                .occurredAt(LocalDateTime.now());
+    }
+
+    private static Set<Long> collectIds(List<TaskBulkUpdateDto> taskDtos, Function<TaskBulkUpdateDto, Long> idGetter) {
+        return taskDtos.stream()
+                .map(idGetter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void verifyWorkspaceAccess(User currentUser, Stream<Column> columns, String message) {
+        columns.map(column -> column.getBoard().getWorkspace().getId())
+                .distinct()
+                .forEach(workspaceId -> {
+                    if (!membershipService.isMember(currentUser, workspaceId)) {
+                        throw new AccessDeniedException(message);
                     }
+                });
+    }
 
-                    return taskRepository.save(task);
-                })
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // Hibernate's own version check at flush covers changes committed after the task was loaded
+    private static void verifyVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ConflictException("Task " + task.getId() + " was modified concurrently, reload it and retry");
+        }
     }
+
     private void verifyTaskAccess(Task task) {
         User currentUser = getCurrentUser();
-        if (!task.getColumn().getBoard().getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, task.getColumn().getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("No permission to access this task");
         }
     }
 
     private void verifyColumnAccess(Column column) {
         User currentUser = getCurrentUser();
-        if (!column.getBoard().getWorkspace().getMembers().contains(currentUser)) {
+        if (!membershipService.isMember(currentUser, column.getBoard().getWorkspace().getId())) {
             throw new AccessDeniedException("No permission to access this column");
         }
     }
 
     private void verifyTaskDeletionPermission(Task task) {
         User currentUser = getCurrentUser();
-        boolean isOwner = task.getColumn().getBoard().getWorkspace().getOwner().equals(currentUser);
+        boolean isOwner = task.getColumn().getBoard().getWorkspace().getOwner().getId().equals(currentUser.getId());
         boolean isAssignee = task.getAssignedUser() != null &&
-                task.getAssignedUser().equals(currentUser);
+                task.getAssignedUser().getId().equals(currentUser.getId());
 
         if (!isOwner && !isAssignee) {
             throw new AccessDeniedException("Only owner or assignee can delete this task");
         }
     }
 
+    /**
+     * Gives the task an order key that places it at {@code position} among the other tasks of the
+     * column, or at the end when position is null. Only the task's own row is written, unless its
+     * new neighbours have no gap left between them and the column has to be re-spaced first.
+     *
+     * @return the position the task ends up at, for the response
+     */
+    private int placeTask(Task task, Long columnId, Integer position) {
+        Long excludedTaskId = task.getId();
+        Long before = null;
+        Long after = null;
+        int placedAt;
+        if (position != null && position <= 0) {
+            List<Long> keys = taskRepository.findOrderKeys(columnId, excludedTaskId, 0, 1);
+            after = keys.isEmpty() ? null : keys.get(0);
+            placedAt = 0;
+        } else {
+            List<Long> keys = position == null
+                    ? List.of()
+                    : taskRepository.findOrderKeys(columnId, excludedTaskId, position - 1, 2);
+            if (keys.isEmpty()) {
+                // Past the last task: append, counting the column only here
+                ColumnTail tail = taskRepository.findTail(columnId, excludedTaskId);
+                before = tail.maxOrderKey();
+                placedAt = tail.taskCount();
+            } else {
+                before = keys.get(0);
+                after = keys.size() > 1 ? keys.get(1) : null;
+                placedAt = position;
+            }
+        }
+
+        Long orderKey = OrderKeys.between(before, after);
+        if (orderKey == null) {
+            // Only a slot between two tasks can run out of room, so both neighbours exist
+            List<Long> keys = respaceColumn(columnId, excludedTaskId);
+            orderKey = OrderKeys.between(keys.get(placedAt - 1), keys.get(placedAt));
+        }
+        task.setOrderKey(orderKey);
+        if (task.getId() != null) {
+            taskRepository.updateOrderKeys(Map.of(task.getId(), orderKey));
+        }
+        return placedAt;
+    }
+
+    // Spreads the other tasks of the column GAP apart and returns their new keys in display order
+    private List<Long> respaceColumn(Long columnId, Long excludedTaskId) {
+        List<Long> keys = new ArrayList<>();
+        Map<Long, Long> orderKeys = new HashMap<>();
+        for (TaskOrderKey other : taskRepository.findOrderKeysByColumnIdIn(List.of(columnId))) {
+            if (other.getId().equals(excludedTaskId)) {
+                continue;
+            }
+            long orderKey = (keys.size() + 1) * OrderKeys.GAP;
+            orderKeys.put(other.getId(), orderKey);
+            keys.add(orderKey);
+        }
+        taskRepository.updateOrderKeys(orderKeys);
+        return keys;
+    }
+
     private TaskDto convertToDto(Task task) {
+        int position = taskRepository.findPositions(List.of(task.getId())).getOrDefault(task.getId(), 0);
+        return convertToDto(task, position);
+    }
+
+    private List<TaskDto> convertToDtos(List<Task> tasks) {
+        Map<Long, Integer> positions = taskRepository.findPositions(
+                tasks.stream().map(Task::getId).collect(Collectors.toSet())
+        );
+        return tasks.stream()
+                .map(task -> convertToDto(task, positions.getOrDefault(task.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    // Tasks of a single column, already in display order, starting at firstPosition
+    private List<TaskDto> convertColumnToDtos(List<Task> orderedTasks, int firstPosition) {
+        List<TaskDto> dtos = new ArrayList<>(orderedTasks.size());
+        for (Task task : orderedTasks) {
+            dtos.add(convertToDto(task, firstPosition + dtos.size()));
+        }
+        return dtos;
+    }
+
+    public TaskDto convertToDto(Task task, int position) {
         return TaskDto.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .status(task.getStatus())
                 .dueDate(task.getDueDate())
-                .position(task.getPosition())
+                .position(position)
                 .columnId(task.getColumn().getId())
                 .assignedUserId(task.getAssignedUser() != null ? task.getAssignedUser().getId() : null)
+                .version(task.getVersion())
                 .build();
     }
 
-    public List<TaskDto> getTasksByAssignee(Long userId) {
+    /**
+     * Tasks assigned to the user, earliest due date first; tasks without a due date come last.
+     */
+    @ReadOnlyTransactional
+    public TaskPageDto getTasksByAssignee(Long userId, String cursor, Integer size) {
         User currentUser = getCurrentUser();
         User assignee = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -264,22 +546,92 @@ public class TaskService {
             throw new AccessDeniedException("Cannot view tasks of this user");
         }
 
-        return taskRepository.findByAssignedUserOrderByDueDateAsc(assignee)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        List<Task> tasks = new ArrayList<>(pageSize + 1);
+        if (after == null || after.dueDate() != null) {
+            tasks.addAll(after == null
+                    ? taskRepository.findByAssignedUserAndDueDateNotNullOrderByDueDateAscIdAsc(assignee, Limit.of(pageSize + 1))
+                    : taskRepository.findAssignedPageAfter(assignee, after.dueDate(), after.id(), Limit.of(pageSize + 1)));
+        }
+        if (tasks.size() <= pageSize) {
+            Long afterId = after != null && after.dueDate() == null ? after.id() : 0L;
+            tasks.addAll(taskRepository.findByAssignedUserAndDueDateIsNullAndIdGreaterThanOrderByIdAsc(
+                    assignee, afterId, Limit.of(pageSize + 1 - tasks.size())));
+        }
+        return toDueDatePage(tasks, pageSize);
     }
-    public List<TaskDto> getDueSoonTasks() {
+
+    @ReadOnlyTransactional
+    public TaskPageDto getDueSoonTasks(String cursor, Integer size) {
         User currentUser = getCurrentUser();
-        LocalDate threshold = LocalDate.now().plusDays(3); // Tasks due in next 3 days
-
-        return taskRepository.findByAssignedUserAndDueDateBetweenOrderByDueDateAsc(
-                        currentUser,
-                        LocalDate.now(),
-                        threshold
-                )
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        LocalDate threshold = today.plusDays(3); // Tasks due in next 3 days
+
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        if (after != null && after.dueDate() == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return toDueDatePage(taskRepository.findDueBetweenPageAfter(
+                currentUser,
+                today,
+                threshold,
+                after == null ? today : after.dueDate(),
+                after == null ? 0L : after.id(),
+                Limit.of(pageSize + 1)
+        ), pageSize);
+    }
+
+    /**
+     * Full-text search over the tasks of every workspace the current user is a member of, best
+     * match first.
+     */
+    @ReadOnlyTransactional
+    public TaskPageDto searchTasks(String query, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        User currentUser = getCurrentUser();
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        int offset = after == null ? 0 : after.position();
+
+        Set<Long> workspaceIds = new HashSet<>(workspaceRepository.findIdsByMemberId(currentUser.getId()));
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(query.trim(), workspaceIds, offset, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        List<Long> taskIds = hits.stream().limit(pageSize).map(TaskSearchIndex.Hit::taskId).toList();
+
+        // Re-check the workspace on the loaded rows in case the index lags behind a move or delete
+        Map<Long, Task> tasks = taskRepository.findAllWithBoardByIdIn(taskIds).stream()
+                .filter(task -> workspaceIds.contains(task.getColumn().getBoard().getWorkspace().getId()))
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> ranked = taskIds.stream().map(tasks::get).filter(Objects::nonNull).toList();
+
+        return TaskPageDto.builder()
+                .items(convertToDtos(ranked))
+                .nextCursor(hasMore ? TaskCursor.atOffset(offset + pageSize).encode() : null)
+                .build();
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // tasks holds up to pageSize + 1 rows; the extra one only signals that another page exists
+    private TaskPageDto toDueDatePage(List<Task> tasks, int pageSize) {
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        Task last = hasMore ? page.get(pageSize - 1) : null;
+        return TaskPageDto.builder()
+                .items(convertToDtos(page))
+                .nextCursor(hasMore ? TaskCursor.afterDueDate(last.getDueDate(), last.getId()).encode() : null)
+                .build();
     }
 }
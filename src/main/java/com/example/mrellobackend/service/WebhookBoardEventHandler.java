@@ -0,0 +1,48 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.dto.BoardEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Posts every committed board event to {@code mrello.webhook.url}, for the notification and
+ * integration services that react to board changes. Registered only when the url is set.
+ * <p>
+ * Any non-2xx answer fails the delivery, so the outbox retries it with backoff and holds back the
+ * board's later events. Repeats carry the same {@code Idempotency-Key} ({@code boardId-version}).
+ */
+@Component
+@ConditionalOnProperty(name = "mrello.webhook.url")
+public class WebhookBoardEventHandler implements BoardEventHandler {
+
+    private final RestClient restClient;
+
+    public WebhookBoardEventHandler(RestClient.Builder restClientBuilder,
+                                    @Value("${mrello.webhook.url}") String url,
+                                    @Value("${mrello.webhook.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public void handle(BoardEventDto event, long boardVersion) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", event.getBoardId() + "-" + boardVersion)
+                .header("X-Board-Version", String.valueOf(boardVersion))
+                .body(event)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.config.ReplicaRoutingDataSource;
+import com.example.mrellobackend.repository.WorkspaceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Answers "is this user a member of this workspace?" from a bounded (userId, workspaceId) cache,
+ * so access checks never load or scan the {@code Workspace.members} collection.
+ * Entries are invalidated by {@link WorkspaceService} whenever membership changes, once the change
+ * has committed: evicting earlier would let a concurrent check cache the old membership again.
+ * With read replicas, misses are loaded from the primary in a separate transaction, since a
+ * lagging replica's answer would otherwise be cached for the whole TTL.
+ */
+@Service
+public class WorkspaceMembershipService {
+    private final WorkspaceRepository workspaceRepository;
+    private final Cache<MembershipKey, Boolean> membershipCache;
+    private final TransactionTemplate primaryRead;
+
+    public WorkspaceMembershipService(
+            WorkspaceRepository workspaceRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+            @Value("${membership.cache.max-size:100000}") long maxSize,
+            @Value("${membership.cache.ttl:10m}") Duration ttl
+    ) {
+        this.workspaceRepository = workspaceRepository;
+        this.membershipCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        if (replicaRoutingDataSource.getIfAvailable() != null) {
+            this.primaryRead = new TransactionTemplate(transactionManager);
+            this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.primaryRead.setReadOnly(true);
+        } else {
+            this.primaryRead = null;
+        }
+    }
+
+    public boolean isMember(User user, Long workspaceId) {
+        return isMember(user.getId(), workspaceId);
+    }
+
+    public boolean isMember(Long userId, Long workspaceId) {
+        return membershipCache.get(
+                new MembershipKey(userId, workspaceId),
+                key -> primaryRead == null
+                        ? load(key)
+                        : ReplicaRoutingDataSource.readFromPrimary(() -> primaryRead.execute(status -> load(key)))
+        );
+    }
+
+    private boolean load(MembershipKey key) {
+        return workspaceRepository.existsMemberById(key.workspaceId(), key.userId());
+    }
+
+    public void evict(Long workspaceId, Long userId) {
+        afterCommit(() -> membershipCache.invalidate(new MembershipKey(userId, workspaceId)));
+    }
+
+    public void evictWorkspace(Long workspaceId) {
+        afterCommit(() -> membershipCache.asMap().keySet().removeIf(key -> key.workspaceId().equals(workspaceId)));
+    }
+
+    // A load running at commit time blocks the invalidation until it finishes, so the entry it put is removed too
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    public CacheStats getStats() {
+        return membershipCache.stats();
+    }
+
+    public long getSize() {
+        return membershipCache.estimatedSize();
+    }
+
+    private record MembershipKey(Long userId, Long workspaceId) {
+    }
+}
@@ -1,40 +1,63 @@
 package com.example.mrellobackend.service;
 
+import com.example.mrellobackend.auth.user.CurrentUserContext;
 import com.example.mrellobackend.auth.user.User;
 import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.dto.WorkspaceCreateDto;
+import com.example.mrellobackend.dto.WorkspaceDto;
 import com.example.mrellobackend.entity.Workspace;
 import com.example.mrellobackend.exception.ResourceNotFoundException;
 import com.example.mrellobackend.repository.WorkspaceRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "mrello.service", histogram = true)
 public class WorkspaceService {
     private final WorkspaceRepository workspaceRepository;
     private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
+    private final WorkspaceMembershipService membershipService;
 
     private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found!"));
+        return currentUserContext.getCurrentUser();
     }
-    public Workspace createWorkspace(Workspace workspace) {
-        User currentUser = getCurrentUser();
-        workspace.setOwner(currentUser);
-        return workspaceRepository.save(workspace);
+
+    private WorkspaceDto convertToDto(Workspace workspace) {
+        return WorkspaceDto.builder()
+                .id(workspace.getId())
+                .title(workspace.getTitle())
+                .description(workspace.getDescription())
+                .ownerId(workspace.getOwner().getId())
+                .memberIds(workspace.getMembers().stream().map(User::getId).toList())
+                .build();
+    }
+
+    @Transactional
+    public WorkspaceDto createWorkspace(WorkspaceCreateDto workspaceDto) {
+        Workspace workspace = Workspace.builder()
+                .title(workspaceDto.getTitle())
+                .description(workspaceDto.getDescription())
+                .owner(getCurrentUser())
+                .members(new ArrayList<>())
+                .build();
+        return convertToDto(workspaceRepository.save(workspace));
     }
 
-    public Workspace addMember(Long workspaceId, Long userId) {
+    @Transactional
+    public WorkspaceDto addMember(Long workspaceId, Long userId) {
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
 
-        if (!workspace.getOwner().equals(getCurrentUser())) {
+        if (!workspace.getOwner().getId().equals(getCurrentUser().getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the owner can add members");
         }
 
@@ -42,52 +65,64 @@ public class WorkspaceService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         workspace.getMembers().add(newMember);
-        return workspaceRepository.save(workspace);
+        Workspace savedWorkspace = workspaceRepository.save(workspace);
+        membershipService.evict(workspaceId, userId);
+        return convertToDto(savedWorkspace);
     }
-    public Workspace removeMemberFromWorkspace(Long workspaceId, Long userId) {
+    @Transactional
+    public WorkspaceDto removeMemberFromWorkspace(Long workspaceId, Long userId) {
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
 
-        if (!workspace.getOwner().equals(getCurrentUser())) {
+        if (!workspace.getOwner().getId().equals(getCurrentUser().getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the owner can add members");
         }
         workspace.getMembers().removeIf(member -> member.getId().equals(userId));
-        return workspaceRepository.save(workspace);
+        Workspace savedWorkspace = workspaceRepository.save(workspace);
+        membershipService.evict(workspaceId, userId);
+        return convertToDto(savedWorkspace);
     }
 
-    public Workspace updateWorkspace(Long workspaceId, Workspace updatedWorkspace) {
+    @Transactional
+    public WorkspaceDto updateWorkspace(Long workspaceId, Workspace updatedWorkspace) {
         User currentUser = getCurrentUser();
         Workspace existingWorkspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
 
-        if (!existingWorkspace.getOwner().equals(currentUser)) {
+        if (!existingWorkspace.getOwner().getId().equals(currentUser.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You don't have permission to update this workspace");
         }
 
         existingWorkspace.setTitle(updatedWorkspace.getTitle());
         existingWorkspace.setDescription(updatedWorkspace.getDescription());
 
-        return workspaceRepository.save(existingWorkspace);
+        return convertToDto(workspaceRepository.save(existingWorkspace));
     }
 
-    public List<Workspace> getCurrentUserWorkspaces() {
+    @ReadOnlyTransactional
+    public List<WorkspaceDto> getCurrentUserWorkspaces() {
         User currentUser = getCurrentUser();
-        return workspaceRepository.findByOwnerOrMembersContaining(currentUser, currentUser);
+        return workspaceRepository.findByOwnerOrMembersContaining(currentUser, currentUser).stream()
+                .map(this::convertToDto)
+                .toList();
     }
 
-    public Workspace getWorkspaceById(Long workspaceId) {
+    @ReadOnlyTransactional
+    public WorkspaceDto getWorkspaceById(Long workspaceId) {
         return workspaceRepository.findById(workspaceId)
+                .map(this::convertToDto)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Workspace not found with id: " + workspaceId
                 ));
     }
 
+    @Transactional
     public void deleteWorkspace(Long workspaceId) {
         User currentUser = getCurrentUser();
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
 
-        if (!workspace.getOwner().equals(currentUser)) {
+        if (!workspace.getOwner().getId().equals(currentUser.getId())) {
             throw new ResponseStatusException(
                     HttpStatus.FORBIDDEN,
                     "Only the workspace owner can delete this workspace"
@@ -95,6 +130,7 @@ public class WorkspaceService {
         }
 
         workspaceRepository.delete(workspace);
+        membershipService.evictWorkspace(workspaceId);
     }
 }
 
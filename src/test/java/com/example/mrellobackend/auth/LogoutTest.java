@@ -0,0 +1,57 @@
+package com.example.mrellobackend.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LogoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void logoutRevokesEveryIssuedToken() throws Exception {
+        String registered = token(mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"logout-user","email":"logout-user@example.com",
+                                 "password":"secret1","confirmPassword":"secret1"}"""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String loggedIn = login();
+
+        mockMvc.perform(post("/api/v1/auth/logout"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedIn))
+                .andExpect(status().isNoContent());
+
+        for (String revoked : new String[]{registered, loggedIn}) {
+            mockMvc.perform(get("/api/v1/workspaces/my-workspaces").header(HttpHeaders.AUTHORIZATION, "Bearer " + revoked))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(get("/api/v1/workspaces/my-workspaces").header(HttpHeaders.AUTHORIZATION, "Bearer " + login()))
+                .andExpect(status().isOk());
+    }
+
+    private String login() throws Exception {
+        return token(mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"logout-user\",\"password\":\"secret1\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static String token(String response) {
+        return response.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+}
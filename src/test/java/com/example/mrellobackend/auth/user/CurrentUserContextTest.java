@@ -0,0 +1,96 @@
+package com.example.mrellobackend.auth.user;
+
+import com.example.mrellobackend.auth.config.JwtService;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.repository.WorkspaceRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CurrentUserContextTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private ColumnRepository columnRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void bulkUpdateLooksUpTheCurrentUserOncePerRequest() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("bulk-user")
+                .email("bulk-user@example.com")
+                .password("secret")
+                .build());
+
+        Workspace workspace = new Workspace();
+        workspace.setTitle("Workspace");
+        workspace.setOwner(user);
+        workspace.setMembers(new ArrayList<>(List.of(user)));
+        workspace = workspaceRepository.save(workspace);
+
+        Board board = new Board();
+        board.setTitle("Board");
+        board.setWorkspace(workspace);
+        board = boardRepository.save(board);
+
+        Column column = new Column();
+        column.setTitle("Todo");
+        column.setPosition(0);
+        column.setBoard(board);
+        column = columnRepository.save(column);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setOrderKey((i + 1) * 65536L);
+            task.setColumn(column);
+            tasks.add(task);
+        }
+        tasks = taskRepository.saveAll(tasks);
+
+        String body = tasks.stream()
+                .map(task -> "{\"id\":" + task.getId() + ",\"status\":\"DONE\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        String token = jwtService.generateToken(user);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(put("/api/v1/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.countSelectsFrom("users", "username=?")).isEqualTo(1);
+    }
+}
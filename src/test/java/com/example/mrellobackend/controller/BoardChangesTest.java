@@ -0,0 +1,200 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.BoardChangesDto;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "board.changes.max-entities=" + BoardChangesTest.MAX_CHANGED_ENTITIES)
+@AutoConfigureMockMvc
+class BoardChangesTest {
+
+    static final int MAX_CHANGED_ENTITIES = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Board board;
+    private List<Column> columns;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("changes-user");
+        board = fixtures.board(fixtures.workspace(user), "Board");
+        columns = fixtures.columns(board, "Todo", "Doing", "Done", "Archive");
+        token = fixtures.bearerToken(user);
+    }
+
+    @Test
+    void deltaListsCreatedUpdatedMovedAndDeletedTasksWithTheOrderOfEveryColumnTheyTouched() throws Exception {
+        Column todo = columns.get(0);
+        Column doing = columns.get(1);
+        Column done = columns.get(2);
+        Column archive = columns.get(3);
+        Task updated = saveTask(todo, "Updated", 1);
+        Task moved = saveTask(doing, "Moved", 1);
+        Task stays = saveTask(doing, "Stays", 2);
+        Task untouched = saveTask(done, "Untouched", 1);
+        Task deleted = saveTask(archive, "Deleted", 1);
+        Task kept = saveTask(archive, "Kept", 2);
+        long since = snapshotVersion();
+
+        String created = mockMvc.perform(post("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Created\",\"columnId\":" + todo.getId() + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long createdId = objectMapper.readValue(created, TaskDto.class).getId();
+        perform(patch("/api/v1/tasks/" + updated.getId() + "/status").param("status", "DONE"));
+        perform(patch("/api/v1/tasks/" + moved.getId() + "/move")
+                .param("newColumnId", done.getId().toString())
+                .param("newPosition", "0"));
+        mockMvc.perform(delete("/api/v1/tasks/" + deleted.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().is2xxSuccessful());
+
+        BoardChangesDto changes = changes(since);
+
+        assertThat(changes.getSnapshot()).isNull();
+        assertThat(changes.getVersion()).isEqualTo(since + 4);
+        assertThat(changes.getTasks()).extracting(TaskDto::getId)
+                .containsExactlyInAnyOrder(createdId, updated.getId(), moved.getId());
+        assertThat(changes.getDeletedTaskIds()).containsExactly(deleted.getId());
+        // Doing and Archive only lost tasks, yet their remaining order is sent too
+        assertThat(changes.getTaskOrder()).containsOnly(
+                Map.entry(todo.getId(), List.of(updated.getId(), createdId)),
+                Map.entry(doing.getId(), List.of(stays.getId())),
+                Map.entry(done.getId(), List.of(moved.getId(), untouched.getId())),
+                Map.entry(archive.getId(), List.of(kept.getId())));
+    }
+
+    @Test
+    void bulkMovesSendTheOrderOfTheColumnsTasksLeft() throws Exception {
+        Column todo = columns.get(0);
+        Column done = columns.get(2);
+        Task moved = saveTask(todo, "Moved", 1);
+        Task stays = saveTask(todo, "Stays", 2);
+        long since = snapshotVersion();
+
+        perform(put("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + moved.getId() + ",\"columnId\":" + done.getId() + "}]"));
+
+        assertThat(changes(since).getTaskOrder()).containsOnly(
+                Map.entry(todo.getId(), List.of(stays.getId())),
+                Map.entry(done.getId(), List.of(moved.getId())));
+    }
+
+    @Test
+    void prunedVersionIsAnsweredWithASnapshot() throws Exception {
+        Task task = saveTask(columns.get(0), "Task", 1);
+        long since = snapshotVersion();
+        for (String taskStatus : List.of("IN_PROGRESS", "DONE", "TODO")) {
+            perform(patch("/api/v1/tasks/" + task.getId() + "/status").param("status", taskStatus));
+        }
+        // As if the retention window had passed for the first change
+        jdbcTemplate.update("DELETE FROM board_changes WHERE board_id = ? AND version <= ?", board.getId(), since + 1);
+
+        assertThat(changes(since + 1).getSnapshot()).isNull();
+        BoardChangesDto changes = changes(since);
+        assertThat(changes.getSnapshot()).isNotNull();
+        assertThat(changes.getSnapshot().getVersion()).isEqualTo(since + 3);
+        assertThat(changes.getTasks()).isNull();
+    }
+
+    @Test
+    void versionAheadOfTheBoardIsAnsweredWithASnapshot() throws Exception {
+        saveTask(columns.get(0), "Task", 1);
+        long version = snapshotVersion();
+
+        BoardChangesDto changes = changes(version + 5);
+
+        assertThat(changes.getVersion()).isEqualTo(version);
+        assertThat(changes.getSnapshot()).isNotNull();
+        assertThat(changes.getSnapshot().getColumns()).hasSize(columns.size());
+    }
+
+    @Test
+    void moreChangesThanTheLimitAreAnsweredWithASnapshot() throws Exception {
+        List<Task> tasks = IntStream.range(0, MAX_CHANGED_ENTITIES + 1)
+                .mapToObj(i -> saveTask(columns.get(0), "Task " + i, i + 1))
+                .toList();
+        long since = snapshotVersion();
+
+        perform(put("/api/v1/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(tasks.stream()
+                        .map(task -> "{\"id\":" + task.getId() + ",\"status\":\"DONE\"}")
+                        .collect(Collectors.joining(",", "[", "]"))));
+
+        BoardChangesDto changes = changes(since);
+        assertThat(changes.getSnapshot()).isNotNull();
+        assertThat(changes.getSnapshot().getVersion()).isEqualTo(since + 1);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+    }
+
+    private long snapshotVersion() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/boards/" + board.getId() + "/snapshot")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("version").asLong();
+    }
+
+    private BoardChangesDto changes(long since) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/boards/" + board.getId() + "/changes")
+                        .param("since", Long.toString(since))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, BoardChangesDto.class);
+    }
+
+    private Task saveTask(Column column, String title, long orderKey) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setOrderKey(orderKey * 65536L);
+        task.setColumn(column);
+        return taskRepository.save(task);
+    }
+}
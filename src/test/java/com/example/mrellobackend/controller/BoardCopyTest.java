@@ -0,0 +1,153 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Duplicates boards and columns, which copy their rows with INSERT ... SELECT instead of loading
+ * them, and checks that every copied field and position survives.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BoardCopyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private ColumnRepository columnRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void duplicatedBoardKeepsColumnsAndEveryTaskField() throws Exception {
+        User owner = fixtures.user("copy-owner");
+        User assignee = fixtures.user("copy-assignee");
+        Board source = fixtures.board(fixtures.workspace(owner, assignee), "Board");
+        List<Column> columns = fixtures.columns(source, "Todo", "Done");
+        LocalDate dueDate = LocalDate.of(2030, 1, 15);
+        saveTask(columns.get(0), "Second", 3, TaskStatus.IN_PROGRESS, dueDate, assignee);
+        saveTask(columns.get(0), "First", 1, TaskStatus.TODO, null, null);
+        saveTask(columns.get(1), "Shipped", 2, TaskStatus.DONE, dueDate.minusDays(3), owner);
+
+        Long copyId = duplicate("/api/v1/boards/" + source.getId() + "/duplicate", owner);
+
+        List<Column> copiedColumns = columnRepository.findByBoardIdOrderByPositionAsc(copyId);
+        assertThat(copiedColumns).extracting(Column::getTitle, Column::getPosition)
+                .containsExactly(tuple("Todo", 0), tuple("Done", 1));
+        for (int i = 0; i < columns.size(); i++) {
+            assertThat(copiedColumns.get(i).getId()).isNotEqualTo(columns.get(i).getId());
+            assertThat(taskFields(copiedColumns.get(i))).containsExactlyElementsOf(taskFields(columns.get(i)));
+        }
+    }
+
+    @Test
+    void duplicatedColumnIsPlacedRightAfterItsSourceAndShiftsLaterColumns() throws Exception {
+        User owner = fixtures.user("copy-column-owner");
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        List<Column> columns = fixtures.columns(board, "A", "B", "C");
+        saveTask(columns.get(0), "Later", 2, TaskStatus.DONE, LocalDate.of(2030, 6, 1), owner);
+        saveTask(columns.get(0), "Sooner", 1, TaskStatus.IN_PROGRESS, null, null);
+
+        Long copyId = duplicate("/api/v1/columns/" + columns.get(0).getId() + "/duplicate", owner);
+
+        assertThat(columnRepository.findByBoardIdOrderByPositionAsc(board.getId()))
+                .extracting(Column::getId, Column::getTitle, Column::getPosition)
+                .containsExactly(
+                        tuple(columns.get(0).getId(), "A", 0),
+                        tuple(copyId, "A (Copy)", 1),
+                        tuple(columns.get(1).getId(), "B", 2),
+                        tuple(columns.get(2).getId(), "C", 3));
+        assertThat(taskFields(columnRepository.findById(copyId).orElseThrow()))
+                .containsExactlyElementsOf(taskFields(columns.get(0)));
+    }
+
+    @Test
+    void copyingABoardTakesTheSameStatementsWhateverItsSize() throws Exception {
+        User owner = fixtures.user("copy-count-owner");
+        Workspace workspace = fixtures.workspace(owner);
+        Board small = boardWithTasks(workspace, 1, 1);
+        Board large = boardWithTasks(workspace, 6, 25);
+
+        // Warms the caches the request path uses, like membership and the current user
+        duplicate("/api/v1/boards/" + small.getId() + "/duplicate", owner);
+
+        SqlStatementCounter.reset();
+        duplicate("/api/v1/boards/" + small.getId() + "/duplicate", owner);
+        int smallStatements = SqlStatementCounter.count();
+
+        SqlStatementCounter.reset();
+        Long largeCopyId = duplicate("/api/v1/boards/" + large.getId() + "/duplicate", owner);
+        int largeStatements = SqlStatementCounter.count();
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(taskRepository.findAllByBoardIdWithAssignee(largeCopyId)).hasSize(6 * 25);
+    }
+
+    private Long duplicate(String url, User user) throws Exception {
+        String body = mockMvc.perform(post(url).header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(user)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode copy = objectMapper.readTree(body);
+        return copy.get("id").asLong();
+    }
+
+    private Board boardWithTasks(Workspace workspace, int columnCount, int tasksPerColumn) {
+        Board board = fixtures.board(workspace, columnCount + "x" + tasksPerColumn);
+        for (int c = 0; c < columnCount; c++) {
+            Column column = fixtures.column(board, "Column " + c, c);
+            for (int t = 0; t < tasksPerColumn; t++) {
+                saveTask(column, "Task " + t, t + 1, TaskStatus.TODO, null, null);
+            }
+        }
+        return board;
+    }
+
+    private Task saveTask(Column column, String title, long orderKey, TaskStatus status, LocalDate dueDate, User assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title + " description");
+        task.setOrderKey(orderKey * 65536L);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setAssignedUser(assignee);
+        task.setColumn(column);
+        return taskRepository.save(task);
+    }
+
+    // The copied fields of a column's tasks, in column order
+    private List<Tuple> taskFields(Column column) {
+        return taskRepository.findByColumnIdOrderByOrderKeyAscIdAsc(column.getId()).stream()
+                .map(task -> tuple(task.getTitle(), task.getDescription(), task.getOrderKey(), task.getStatus(),
+                        task.getDueDate(), task.getAssignedUser() == null ? null : task.getAssignedUser().getId()))
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dao.BoardEventType;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.OutboxEventRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.service.BoardEventHandler;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "outbox.poll-interval=50ms",
+        "outbox.retry-backoff=50ms"
+})
+@AutoConfigureMockMvc
+class BoardEventOutboxTest {
+
+    record Delivery(Long boardId, long version, BoardEventType type, Object data) {
+    }
+
+    // Fails the first delivery of the first event so it has to be retried
+    @TestConfiguration
+    static class RecordingHandlerConfiguration {
+        static final List<Delivery> deliveries = new CopyOnWriteArrayList<>();
+        static final AtomicBoolean failedOnce = new AtomicBoolean();
+
+        @Bean
+        BoardEventHandler recordingHandler() {
+            return (event, version) -> {
+                if (version == 1 && failedOnce.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Handler unavailable");
+                }
+                deliveries.add(new Delivery(event.getBoardId(), version, event.getType(), event.getData()));
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void deliversEveryCommittedEventInBoardOrderDespiteAFailure() throws Exception {
+        User owner = fixtures.user("outbox-owner");
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+
+        String token = fixtures.bearerToken(owner);
+        for (String taskStatus : List.of("IN_PROGRESS", "DONE", "TODO")) {
+            mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/status")
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .param("status", taskStatus))
+                    .andExpect(status().isOk());
+        }
+
+        Long boardId = board.getId();
+        List<Delivery> deliveries = RecordingHandlerConfiguration.deliveries;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((deliveries.size() < 3 || outboxEventRepository.count() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(RecordingHandlerConfiguration.failedOnce).isTrue();
+        assertThat(deliveries).extracting(Delivery::version).containsExactly(1L, 2L, 3L);
+        assertThat(deliveries).allSatisfy(delivery -> {
+            assertThat(delivery.boardId()).isEqualTo(boardId);
+            assertThat(delivery.type()).isEqualTo(BoardEventType.TASK_UPDATED);
+        });
+        assertThat(((Map<?, ?>) deliveries.get(1).data()).get("status")).isEqualTo("DONE");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BoardSnapshotTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void snapshotTakesTheSameStatementsForASmallAndALargeBoard() throws Exception {
+        User user = fixtures.user("snapshot-user");
+        User assignee = fixtures.user("snapshot-assignee");
+        Workspace workspace = fixtures.workspace(user, assignee);
+        Board small = boardWithTasks(workspace, 1, 1, assignee);
+        Board large = boardWithTasks(workspace, 8, 30, assignee);
+        String token = fixtures.bearerToken(user);
+
+        // Warms the caches the request path uses, like membership, the current user and the board rows
+        snapshot(small, token, 1);
+        snapshot(large, token, 8);
+
+        SqlStatementCounter.reset();
+        snapshot(small, token, 1);
+        int smallStatements = SqlStatementCounter.count();
+
+        SqlStatementCounter.reset();
+        snapshot(large, token, 8);
+        int largeStatements = SqlStatementCounter.count();
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    private void snapshot(Board board, String token, int columnCount) throws Exception {
+        mockMvc.perform(get("/api/v1/boards/" + board.getId() + "/snapshot").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(columnCount));
+    }
+
+    private Board boardWithTasks(Workspace workspace, int columnCount, int tasksPerColumn, User assignee) {
+        Board board = fixtures.board(workspace, columnCount + "x" + tasksPerColumn);
+        List<Task> tasks = new ArrayList<>();
+        for (int c = 0; c < columnCount; c++) {
+            Column column = fixtures.column(board, "Column " + c, c);
+            for (int t = 0; t < tasksPerColumn; t++) {
+                Task task = new Task();
+                task.setTitle("Task " + t);
+                task.setOrderKey((t + 1) * 65536L);
+                task.setAssignedUser(assignee);
+                task.setColumn(column);
+                tasks.add(task);
+            }
+        }
+        taskRepository.saveAll(tasks);
+        return board;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ColumnReorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void movingAColumnOntoAnOccupiedPositionShiftsTheOthersAndBumpsVersions() throws Exception {
+        User user = fixtures.user("reorder-user");
+        Board board = fixtures.board(fixtures.workspace(user), "Board");
+        List<Column> columns = fixtures.columns(board, "A", "B", "C");
+        Column a = columns.get(0);
+        Column c = columns.get(2);
+
+        String token = fixtures.bearerToken(user);
+        mockMvc.perform(put("/api/v1/columns/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + c.getId() + ",\"title\":\"C\",\"position\":0}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].position").value(0))
+                .andExpect(jsonPath("$[0].version").value(1));
+        mockMvc.perform(get("/api/v1/columns/board/" + board.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("C", "A", "B")))
+                .andExpect(jsonPath("$[*].position", contains(0, 1, 2)));
+
+        // Two requested columns may not claim the same position
+        mockMvc.perform(put("/api/v1/columns/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + a.getId() + ",\"title\":\"A\",\"position\":2}," +
+                                "{\"id\":" + c.getId() + ",\"title\":\"C\",\"position\":2}]"))
+                .andExpect(status().isBadRequest());
+
+        // A was shifted by the reorder, so a rename based on the version read before it conflicts
+        mockMvc.perform(put("/api/v1/columns/" + a.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"version\":" + a.getVersion() + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/v1/columns/" + a.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"position\":0,\"version\":" + (a.getVersion() + 1) + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(0))
+                .andExpect(jsonPath("$.version").value(a.getVersion() + 3));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void unchangedBoardIsAnsweredWithNotModifiedWithoutLoadingIt() throws Exception {
+        User user = fixtures.user("etag-user");
+        Board board = fixtures.board(fixtures.workspace(user), "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+
+        String token = fixtures.bearerToken(user);
+        String snapshotUrl = "/api/v1/boards/" + board.getId() + "/snapshot";
+
+        String eTag = mockMvc.perform(get(snapshotUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(snapshotUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertThat(SqlStatementCounter.countSelectsFrom("tasks")).isZero();
+        assertThat(SqlStatementCounter.countSelectsFrom("columns")).isZero();
+
+        mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/status")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("status", "DONE"))
+                .andExpect(status().isOk());
+
+        String changedETag = mockMvc.perform(get(snapshotUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedETag).isNotEqualTo(eTag);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OptimisticLockingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void updatesWithAStaleVersionAreRejectedWithConflict() throws Exception {
+        User user = fixtures.user("lock-user");
+        Board board = fixtures.board(fixtures.workspace(user), "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+        assertThat(task.getVersion()).isZero();
+
+        String token = fixtures.bearerToken(user);
+        String statusUrl = "/api/v1/tasks/" + task.getId() + "/status";
+
+        mockMvc.perform(patch(statusUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("status", "IN_PROGRESS")
+                        .param("version", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        // Another client still holding version 0
+        mockMvc.perform(patch(statusUrl)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("status", "DONE")
+                        .param("version", "0"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/v1/tasks/" + task.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"version\":0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/v1/columns/" + column.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Doing\",\"version\":7}"))
+                .andExpect(status().isConflict());
+
+        // A write based on an entity loaded before a concurrent commit fails at flush
+        Task stale = taskRepository.findById(task.getId()).orElseThrow();
+        Task current = taskRepository.findById(task.getId()).orElseThrow();
+        current.setTitle("First writer");
+        taskRepository.save(current);
+        stale.setTitle("Second writer");
+        assertThatThrownBy(() -> taskRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
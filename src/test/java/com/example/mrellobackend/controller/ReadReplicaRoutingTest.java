@@ -0,0 +1,120 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two H2 databases: the usual test database as the primary and a second one as the
+ * replica, copied from the primary once and then left behind like a replica that stopped replaying.
+ */
+@SpringBootTest(properties = {
+        "mrello.datasource.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "mrello.datasource.replicas[0].username=sa",
+        "mrello.datasource.replicas[0].password="
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:mrello-replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void readsGoToTheReplicaExceptRightAfterTheUsersOwnWrite() throws Exception {
+        User owner = fixtures.user("replica-owner");
+        User colleague = fixtures.user("replica-colleague");
+        User newcomer = fixtures.user("replica-newcomer");
+        Workspace workspace = fixtures.workspace(owner, colleague);
+        Board board = fixtures.board(workspace, "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Replicated title");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+
+        try (Connection primary = dataSource.getConnection();
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            copyDatabase(primary, replica);
+            // A write the replica has not caught up with yet
+            try (PreparedStatement rename = primary.prepareStatement("UPDATE tasks SET title = ? WHERE id = ?")) {
+                rename.setString(1, "Primary title");
+                rename.setLong(2, task.getId());
+                rename.executeUpdate();
+            }
+        }
+
+        String ownerToken = fixtures.bearerToken(owner);
+        String colleagueToken = fixtures.bearerToken(colleague);
+        String columnTasksUrl = "/api/v1/tasks/column/" + column.getId();
+
+        mockMvc.perform(get(columnTasksUrl).header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Replicated title"));
+
+        mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/status")
+                        .header(HttpHeaders.AUTHORIZATION, ownerToken)
+                        .param("status", "DONE"))
+                .andExpect(status().isOk());
+
+        // The writer now reads from the primary, everybody else still from the replica
+        mockMvc.perform(get(columnTasksUrl).header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Primary title"))
+                .andExpect(jsonPath("$.items[0].status").value("DONE"));
+        mockMvc.perform(get(columnTasksUrl).header(HttpHeaders.AUTHORIZATION, colleagueToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Replicated title"));
+
+        // Membership is read from the primary: a member the replica has not seen yet gets in
+        mockMvc.perform(post("/api/v1/workspaces/" + workspace.getId() + "/members")
+                        .header(HttpHeaders.AUTHORIZATION, ownerToken)
+                        .param("userId", newcomer.getId().toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(columnTasksUrl).header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(newcomer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Replicated title"));
+    }
+
+    private static void copyDatabase(Connection from, Connection to) throws Exception {
+        try (Statement script = from.createStatement();
+             ResultSet statements = script.executeQuery("SCRIPT");
+             Statement apply = to.createStatement()) {
+            while (statements.next()) {
+                apply.execute(statements.getString(1));
+            }
+        }
+    }
+}
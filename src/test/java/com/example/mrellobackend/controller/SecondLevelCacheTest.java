@@ -0,0 +1,89 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void repeatedReadsComeFromTheCacheAndWritesAreSeen() throws Exception {
+        User owner = fixtures.user("l2-owner");
+        User colleague = fixtures.user("l2-colleague");
+        Workspace workspace = fixtures.workspace(owner);
+        Board board = fixtures.board(workspace, "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+
+        String token = fixtures.bearerToken(owner);
+        String boardUrl = "/api/v1/boards/" + board.getId();
+        String workspaceUrl = "/api/v1/workspaces/" + workspace.getId();
+
+        mockMvc.perform(get(boardUrl).header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+        mockMvc.perform(get(workspaceUrl).header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(boardUrl).header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+        mockMvc.perform(get(workspaceUrl).header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+        // Only the ETag lookup reads the boards table, and it selects just the version
+        assertThat(SqlStatementCounter.countSelectsFrom("boards", "title")).isZero();
+        assertThat(SqlStatementCounter.countSelectsFrom("workspaces")).isZero();
+        assertThat(SqlStatementCounter.countSelectsFrom("workspace_members")).isZero();
+
+        // Adding a member replaces the cached member list
+        mockMvc.perform(post(workspaceUrl + "/members")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("userId", colleague.getId().toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(workspaceUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memberIds", containsInAnyOrder(
+                        owner.getId().intValue(), colleague.getId().intValue())));
+
+        // The content version is not taken from the cached board
+        String snapshotUrl = boardUrl + "/snapshot";
+        mockMvc.perform(get(snapshotUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/status")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("status", "DONE"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(snapshotUrl).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBulkUpdateTest {
+
+    private static final int TASK_COUNT = 100;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void bulkUpdateIsBatchedAndChecksAccessBeforeVersions() throws Exception {
+        User owner = fixtures.user("bulk-owner");
+        User outsider = fixtures.user("bulk-outsider");
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setOrderKey((i + 1) * 65536L);
+            task.setColumn(column);
+            tasks.add(task);
+        }
+        tasks = taskRepository.saveAll(tasks);
+
+        // An outsider with wrong versions learns nothing about the tasks
+        String staleUpdates = tasks.stream()
+                .map(task -> "{\"id\":" + task.getId() + ",\"status\":\"DONE\",\"version\":99}")
+                .collect(Collectors.joining(",", "[", "]"));
+        mockMvc.perform(put("/api/v1/tasks/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(outsider))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(staleUpdates))
+                .andExpect(status().isForbidden());
+
+        String updates = tasks.stream()
+                .map(task -> "{\"id\":" + task.getId() + ",\"status\":\"DONE\",\"version\":" + task.getVersion() + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        String ownerToken = fixtures.bearerToken(owner);
+        SqlStatementCounter.reset();
+        mockMvc.perform(put("/api/v1/tasks/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updates))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TASK_COUNT))
+                .andExpect(jsonPath("$[99].status").value("DONE"));
+
+        // One fetch of the tasks, one position query, and the updates prepared once per JDBC batch
+        assertThat(SqlStatementCounter.countSelectsFrom("tasks")).isLessThanOrEqualTo(2);
+        assertThat(SqlStatementCounter.countContaining("update tasks")).isLessThanOrEqualTo(TASK_COUNT / BATCH_SIZE);
+        assertThat(taskRepository.findById(tasks.get(0).getId()).orElseThrow().getStatus().name()).isEqualTo("DONE");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.TaskExportDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void exportStreamsTasksInBoardAndColumnOrderWithPositionsPerColumn() throws Exception {
+        User owner = fixtures.user("export-owner");
+        User outsider = fixtures.user("export-outsider");
+
+        Workspace workspace = fixtures.workspace(owner);
+        Board first = fixtures.board(workspace, "First");
+        Board second = fixtures.board(workspace, "Second");
+
+        // Saved out of position order; the export follows column positions, then order keys and ids
+        Column done = fixtures.column(first, "Done", 1);
+        Column todo = fixtures.column(first, "Todo", 0);
+        Column backlog = fixtures.column(second, "Backlog", 0);
+        Task doneTask = saveTask(done, "Shipped", 1);
+        Task todoLast = saveTask(todo, "Last", 3);
+        Task todoTieA = saveTask(todo, "Tie A", 2);
+        Task todoTieB = saveTask(todo, "Tie B", 2);
+        Task todoFirst = saveTask(todo, "First", 1);
+        Task backlogTask = saveTask(backlog, "Someday", 1);
+
+        String url = "/api/v1/workspaces/" + workspace.getId() + "/tasks/export";
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(outsider)))
+                .andExpect(status().isForbidden());
+
+        String token = fixtures.bearerToken(owner);
+        List<TaskExportDto> rows = new ArrayList<>();
+        for (String line : export(get(url).header(HttpHeaders.AUTHORIZATION, token)).split("\n")) {
+            rows.add(objectMapper.readValue(line, TaskExportDto.class));
+        }
+
+        assertThat(rows).extracting(TaskExportDto::getId, TaskExportDto::getColumnTitle, TaskExportDto::getPosition)
+                .containsExactly(
+                        tuple(todoFirst.getId(), "Todo", 0),
+                        tuple(todoTieA.getId(), "Todo", 1),
+                        tuple(todoTieB.getId(), "Todo", 2),
+                        tuple(todoLast.getId(), "Todo", 3),
+                        tuple(doneTask.getId(), "Done", 0),
+                        tuple(backlogTask.getId(), "Backlog", 0));
+
+        String[] csv = export(get(url).param("format", "csv").header(HttpHeaders.AUTHORIZATION, token)).split("\n");
+        assertThat(csv[0]).startsWith("id,boardId,boardTitle,columnId,columnTitle,position,title");
+        assertThat(csv).hasSize(rows.size() + 1);
+        assertThat(csv[2]).startsWith(todoTieA.getId() + "," + first.getId() + ",First," + todo.getId() + ",Todo,1,\"Tie A\"");
+    }
+
+    private String export(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Task saveTask(Column column, String title, long orderKey) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setOrderKey(orderKey * 65536L);
+        task.setColumn(column);
+        return taskRepository.save(task);
+    }
+}
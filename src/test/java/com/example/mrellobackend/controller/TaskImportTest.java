@@ -0,0 +1,133 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.repository.TaskOrderKey;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "task.import.chunk-size=" + TaskImportTest.CHUNK_SIZE)
+@AutoConfigureMockMvc
+class TaskImportTest {
+
+    static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void invalidRowFailsAloneAndOtherChunkRowsAreImported() throws Exception {
+        User owner = fixtures.user("import-owner");
+        Column column = saveColumn(owner, "Todo");
+
+        String rows = String.join("\n",
+                "{\"title\":\"First\"}",
+                "{\"title\":\"Second\"}",
+                "{\"title\":\"" + "x".repeat(300) + "\"}",
+                "{\"title\":\"Fourth\"}",
+                "{\"title\":\"Fifth\"}");
+        mockMvc.perform(post("/api/v1/tasks/import")
+                        .param("columnId", column.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(owner))
+                        .contentType("application/x-ndjson")
+                        .content(rows))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        assertThat(taskRepository.findOrderKeysByColumnIdIn(List.of(column.getId()))).hasSize(4);
+    }
+
+    @Test
+    void boardImportRejectsColumnsOfOtherBoards() throws Exception {
+        User owner = fixtures.user("import-board-owner");
+        User outsider = fixtures.user("import-outsider");
+        Column own = saveColumn(owner, "Own");
+        Column foreign = saveColumn(outsider, "Foreign");
+
+        String rows = String.join("\n",
+                "{\"title\":\"Mine\",\"columnId\":" + own.getId() + "}",
+                "{\"title\":\"Crafted\",\"columnId\":" + foreign.getId() + "}");
+        mockMvc.perform(post("/api/v1/tasks/import")
+                        .param("boardId", own.getBoard().getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, fixtures.bearerToken(owner))
+                        .contentType("application/x-ndjson")
+                        .content(rows))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        assertThat(taskRepository.findOrderKeysByColumnIdIn(List.of(foreign.getId()))).isEmpty();
+    }
+
+    @Test
+    void concurrentImportsIntoOneColumnNeverShareAnOrderKey() throws Exception {
+        User owner = fixtures.user("import-concurrent-owner");
+        Column column = saveColumn(owner, "Todo");
+        String token = fixtures.bearerToken(owner);
+        int rowsPerImport = CHUNK_SIZE * 10;
+
+        // Each import appends chunk by chunk, interleaving with the other one
+        ExecutorService importers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> imports = new ArrayList<>();
+            for (String name : List.of("a", "b")) {
+                String rows = IntStream.range(0, rowsPerImport)
+                        .mapToObj(i -> "{\"title\":\"" + name + i + "\"}")
+                        .collect(Collectors.joining("\n"));
+                imports.add(importers.submit(() -> {
+                    mockMvc.perform(post("/api/v1/tasks/import")
+                                    .param("columnId", column.getId().toString())
+                                    .header(HttpHeaders.AUTHORIZATION, token)
+                                    .contentType("application/x-ndjson")
+                                    .content(rows))
+                            .andExpect(status().isOk())
+                            .andExpect(jsonPath("$.imported").value(rowsPerImport));
+                    return null;
+                }));
+            }
+            for (Future<?> running : imports) {
+                running.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            importers.shutdownNow();
+        }
+
+        assertThat(taskRepository.findOrderKeysByColumnIdIn(List.of(column.getId())))
+                .extracting(TaskOrderKey::getOrderKey)
+                .hasSize(2 * rowsPerImport)
+                .doesNotHaveDuplicates();
+    }
+
+    private Column saveColumn(User owner, String title) {
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        return fixtures.column(board, title, 0);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskOrderingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String token;
+    private Column column;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("ordering-user");
+        Board board = fixtures.board(fixtures.workspace(user), "Board");
+        column = fixtures.column(board, "Todo", 0);
+        token = fixtures.bearerToken(user);
+    }
+
+    private Task task(String title, long orderKey) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setOrderKey(orderKey);
+        task.setColumn(column);
+        return taskRepository.save(task);
+    }
+
+    private void move(Task task, int newPosition, int expectedPosition) throws Exception {
+        mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/move")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("newColumnId", column.getId().toString())
+                        .param("newPosition", Integer.toString(newPosition)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(expectedPosition));
+    }
+
+    private void expectOrder(String... titles) throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/column/" + column.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].title", contains(titles)))
+                .andExpect(jsonPath("$.items[*].position", contains(0, 1, 2)));
+    }
+
+    @Test
+    void movesToTheFirstMiddleAndLastPositionWriteOnlyTheMovedTask() throws Exception {
+        Task a = task("A", 65536L);
+        Task b = task("B", 131072L);
+        Task c = task("C", 196608L);
+
+        move(c, 0, 0);
+        expectOrder("C", "A", "B");
+
+        SqlStatementCounter.reset();
+        move(b, 1, 1);
+        // The position comes from the placement, not from counting the column
+        assertThat(SqlStatementCounter.countContaining("count(")).isZero();
+        expectOrder("C", "B", "A");
+
+        move(c, 10, 2);
+        expectOrder("B", "A", "C");
+
+        assertThat(taskRepository.findById(a.getId()).orElseThrow().getVersion()).isEqualTo(a.getVersion());
+    }
+
+    @Test
+    void reorderBumpsTheVersionSoAReorderAgainstTheOldOneConflicts() throws Exception {
+        Task a = task("A", 65536L);
+        Task b = task("B", 131072L);
+        task("C", 196608L);
+
+        reorder(b, 0, a.getVersion()).andExpect(status().isOk());
+        assertThat(taskRepository.findById(b.getId()).orElseThrow().getVersion()).isEqualTo(b.getVersion() + 1);
+        assertThat(taskRepository.findById(a.getId()).orElseThrow().getVersion()).isEqualTo(a.getVersion());
+
+        // Another client still holding the version B had before the first reorder
+        reorder(b, 2, b.getVersion()).andExpect(status().isConflict());
+        expectOrder("B", "A", "C");
+
+        // A move within the column is a reorder too
+        mockMvc.perform(patch("/api/v1/tasks/" + b.getId() + "/move")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .param("newColumnId", column.getId().toString())
+                        .param("newPosition", "2")
+                        .param("version", Long.toString(b.getVersion() + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(b.getVersion() + 2));
+        expectOrder("A", "C", "B");
+    }
+
+    private ResultActions reorder(Task task, int newPosition, Long version) throws Exception {
+        return mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/reorder")
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .param("newPosition", Integer.toString(newPosition))
+                .param("version", version.toString()));
+    }
+
+    @Test
+    void exhaustedGapRespacesTheColumnWithoutBumpingNeighbourVersions() throws Exception {
+        Task a = task("A", 10L);
+        Task b = task("B", 11L);
+        Task c = task("C", 12L);
+
+        move(c, 1, 1);
+        expectOrder("A", "C", "B");
+
+        Task respacedA = taskRepository.findById(a.getId()).orElseThrow();
+        Task respacedB = taskRepository.findById(b.getId()).orElseThrow();
+        assertThat(respacedA.getOrderKey()).isEqualTo(65536L);
+        assertThat(respacedB.getOrderKey()).isEqualTo(131072L);
+        assertThat(respacedA.getVersion()).isEqualTo(a.getVersion());
+        assertThat(respacedB.getVersion()).isEqualTo(b.getVersion());
+
+        // A copy loaded before the re-spacing does not write its old key back
+        a.setTitle("A renamed");
+        taskRepository.save(a);
+        assertThat(taskRepository.findById(a.getId()).orElseThrow().getOrderKey()).isEqualTo(65536L);
+        expectOrder("A renamed", "C", "B");
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dto.TaskDto;
+import com.example.mrellobackend.dto.TaskPageDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks every keyset-paginated task list page by page with a small page size and checks that the
+ * pages join up to the full list in sort order: no row repeated or skipped, even where rows tie on
+ * their sort key or have no due date.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskPagingTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void columnPagesFollowOrderKeyThenIdAndNumberPositionsAcrossPages() throws Exception {
+        User user = fixtures.user("paging-column");
+        Column column = saveColumn(user);
+        // Equal order keys are broken by id
+        List<Task> tasks = saveTasks(column, null, List.of(3L, 1L, 2L, 2L, 2L, 1L, 5L), List.of());
+
+        List<TaskDto> items = walk(user, "/api/v1/tasks/column/" + column.getId());
+
+        assertThat(items).extracting(TaskDto::getId).containsExactlyElementsOf(tasks.stream()
+                .sorted(Comparator.comparing(Task::getOrderKey).thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList());
+        assertThat(items).extracting(TaskDto::getPosition)
+                .containsExactlyElementsOf(IntStream.range(0, tasks.size()).boxed().toList());
+    }
+
+    @Test
+    void assigneePagesFollowDueDateThenIdAndEndWithTasksWithoutDueDate() throws Exception {
+        User user = fixtures.user("paging-assignee");
+        Column column = saveColumn(user);
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dueDates = new ArrayList<>(List.of(today.plusDays(2), today, today.plusDays(2), today, today.plusDays(1)));
+        dueDates.add(null);
+        dueDates.add(null);
+        dueDates.add(null);
+        List<Task> tasks = saveTasks(column, user, List.of(), dueDates);
+
+        List<TaskDto> items = walk(user, "/api/v1/tasks/user/" + user.getId());
+
+        assertThat(items).extracting(TaskDto::getId).containsExactlyElementsOf(tasks.stream()
+                .sorted(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList());
+    }
+
+    @Test
+    void dueSoonPagesFollowDueDateThenIdWithinTheWindow() throws Exception {
+        User user = fixtures.user("paging-due-soon");
+        Column column = saveColumn(user);
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dueDates = new ArrayList<>(List.of(
+                today.plusDays(3), today, today.plusDays(10), today.plusDays(3), today, today.minusDays(1)));
+        dueDates.add(null);
+        List<Task> tasks = saveTasks(column, user, List.of(), dueDates);
+
+        List<TaskDto> items = walk(user, "/api/v1/tasks/due-soon");
+
+        assertThat(items).extracting(TaskDto::getId).containsExactlyElementsOf(tasks.stream()
+                .filter(task -> task.getDueDate() != null
+                        && !task.getDueDate().isBefore(today)
+                        && !task.getDueDate().isAfter(today.plusDays(3)))
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList());
+    }
+
+    // Follows nextCursor until the last page and returns all items in the order they were served
+    private List<TaskDto> walk(User user, String url) throws Exception {
+        String token = fixtures.bearerToken(user);
+        List<TaskDto> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(url)
+                    .param("size", String.valueOf(PAGE_SIZE))
+                    .header(HttpHeaders.AUTHORIZATION, token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            TaskPageDto page = objectMapper.readValue(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), TaskPageDto.class);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            items.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return items;
+    }
+
+    private List<Task> saveTasks(Column column, User assignee, List<Long> orderKeys, List<LocalDate> dueDates) {
+        int count = Math.max(orderKeys.size(), dueDates.size());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setOrderKey(i < orderKeys.size() ? orderKeys.get(i) * 65536L : (i + 1) * 65536L);
+            task.setDueDate(i < dueDates.size() ? dueDates.get(i) : null);
+            task.setAssignedUser(assignee);
+            task.setColumn(column);
+            tasks.add(task);
+        }
+        return taskRepository.saveAll(tasks);
+    }
+
+    private Column saveColumn(User owner) {
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        return fixtures.column(board, "Todo", 0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.repository.OutboxEventRepository;
+import com.example.mrellobackend.repository.TaskRepository;
+import com.example.mrellobackend.support.TestFixtures;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "outbox.poll-interval=50ms",
+        "outbox.retry-backoff=50ms"
+})
+@AutoConfigureMockMvc
+class WebhookBoardEventHandlerTest {
+
+    record Request(String idempotencyKey, String body) {
+    }
+
+    // Answers the first request with 503 so the outbox has to retry it
+    private static final List<Request> requests = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean rejectedOnce = new AtomicBoolean();
+    private static HttpServer webhook;
+
+    @DynamicPropertySource
+    static void webhookUrl(DynamicPropertyRegistry registry) throws IOException {
+        webhook = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        webhook.createContext("/board-events", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new Request(exchange.getRequestHeaders().getFirst("Idempotency-Key"), body));
+            exchange.sendResponseHeaders(rejectedOnce.compareAndSet(false, true) ? 503 : 204, -1);
+            exchange.close();
+        });
+        webhook.start();
+        registry.add("mrello.webhook.url",
+                () -> "http://localhost:" + webhook.getAddress().getPort() + "/board-events");
+    }
+
+    @AfterAll
+    static void stopWebhook() {
+        webhook.stop(0);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void postsCommittedEventsToTheWebhookAndRetriesRejectedOnes() throws Exception {
+        User owner = fixtures.user("webhook-owner");
+        Board board = fixtures.board(fixtures.workspace(owner), "Board");
+        Column column = fixtures.column(board, "Todo", 0);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setOrderKey(65536L);
+        task.setColumn(column);
+        task = taskRepository.save(task);
+
+        String token = fixtures.bearerToken(owner);
+        for (String taskStatus : List.of("IN_PROGRESS", "DONE")) {
+            mockMvc.perform(patch("/api/v1/tasks/" + task.getId() + "/status")
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .param("status", taskStatus))
+                    .andExpect(status().isOk());
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((requests.size() < 3 || outboxEventRepository.count() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // The rejected first event is sent again under the same key before the second one goes out
+        Long boardId = board.getId();
+        assertThat(requests).extracting(Request::idempotencyKey)
+                .containsExactly(boardId + "-1", boardId + "-1", boardId + "-2");
+        assertThat(requests.get(2).body())
+                .contains("\"type\":\"TASK_UPDATED\"")
+                .contains("\"status\":\"DONE\"");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mrellobackend.controller;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.service.WorkspaceMembershipService;
+import com.example.mrellobackend.service.WorkspaceService;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WorkspaceMembershipTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private WorkspaceService workspaceService;
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void removedMemberLosesAccessEvenIfCheckedBeforeTheRemovalCommitted() throws Exception {
+        User owner = fixtures.user("membership-owner");
+        User colleague = fixtures.user("membership-colleague");
+        Workspace workspace = fixtures.workspace(owner, colleague);
+        Board board = fixtures.board(workspace, "Board");
+
+        String colleagueToken = fixtures.bearerToken(colleague);
+        String boardUrl = "/api/v1/boards/" + board.getId();
+        mockMvc.perform(get(boardUrl).header(HttpHeaders.AUTHORIZATION, colleagueToken))
+                .andExpect(status().isOk());
+
+        Long workspaceId = workspace.getId();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            workspaceService.removeMemberFromWorkspace(workspaceId, colleague.getId());
+            // A check from another request before the commit still sees the old membership and caches it
+            assertThat(CompletableFuture.supplyAsync(
+                    () -> membershipService.isMember(colleague.getId(), workspaceId)).join()).isTrue();
+        });
+
+        assertThat(membershipService.isMember(colleague.getId(), workspaceId)).isFalse();
+        mockMvc.perform(get(boardUrl).header(HttpHeaders.AUTHORIZATION, colleagueToken))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dao.TaskStatus;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the CSV that the PostgreSQL branch of bulkInsert streams through COPY: quoting, NULLs
+ * versus empty strings, and the column order of the COPY statement.
+ */
+class TaskCopyInTest {
+
+    @Test
+    void copyInStreamsRowsAsPostgresCsv() throws Exception {
+        AtomicReference<String> sql = new AtomicReference<>();
+        AtomicReference<String> csv = new AtomicReference<>();
+        CopyManager copyManager = mock(CopyManager.class);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            StringWriter content = new StringWriter();
+            invocation.<Reader>getArgument(1).transferTo(content);
+            sql.set(invocation.getArgument(0));
+            csv.set(content.toString());
+            return 2L;
+        });
+        PGConnection connection = mock(PGConnection.class);
+        when(connection.getCopyAPI()).thenReturn(copyManager);
+
+        Column column = new Column();
+        column.setId(7L);
+        Task full = Task.builder()
+                .id(1L)
+                .title("Say \"hi\"")
+                .description("one, two\nthree")
+                .orderKey(65536L)
+                .column(column)
+                .status(TaskStatus.IN_PROGRESS)
+                .dueDate(LocalDate.of(2026, 1, 2))
+                .assignedUser(User.builder().id(3L).build())
+                .build();
+        Task sparse = Task.builder()
+                .id(2L)
+                .title("")
+                .orderKey(131072L)
+                .column(column)
+                .build();
+
+        TaskRepositoryImpl.copyIn(connection, List.of(full, sparse));
+
+        assertThat(sql.get()).isEqualTo("COPY tasks (id, title, description, order_key, column_id, status, "
+                + "due_date, assigned_user_id, version) FROM STDIN WITH (FORMAT csv)");
+        assertThat(csv.get()).isEqualTo(
+                "1,\"Say \"\"hi\"\"\",\"one, two\nthree\",65536,7,IN_PROGRESS,2026-01-02,3,0\n"
+                        + "2,\"\",,131072,7,,,,0\n");
+    }
+}
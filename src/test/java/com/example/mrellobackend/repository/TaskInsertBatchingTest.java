@@ -0,0 +1,62 @@
+package com.example.mrellobackend.repository;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Task;
+import com.example.mrellobackend.support.SqlStatementCounter;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creates 10k tasks and reports the JDBC round trips it took. With IDENTITY ids every row was
+ * its own INSERT; pooled sequences let Hibernate batch them.
+ */
+@SpringBootTest
+class TaskInsertBatchingTest {
+
+    private static final int TASK_COUNT = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void insertingTenThousandTasksIsBatched() {
+        User user = fixtures.user("batch-user");
+        Column column = fixtures.column(fixtures.board(fixtures.workspace(user), "Board"), "Todo", 0);
+
+        List<Task> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setOrderKey((i + 1) * 65536L);
+            task.setColumn(column);
+            tasks.add(task);
+        }
+
+        SqlStatementCounter.reset();
+        long start = System.nanoTime();
+        taskRepository.saveAll(tasks);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // A batched INSERT is prepared once and re-executed per batch; IDENTITY prepared one per row
+        long insertPrepares = SqlStatementCounter.countContaining("insert into tasks");
+        long sequenceCalls = SqlStatementCounter.countContaining("tasks_seq");
+        System.out.printf("Inserted %d tasks in %d ms: %d round trips (%d insert batches, %d sequence calls), IDENTITY needed %d%n",
+                TASK_COUNT, elapsedMillis, TASK_COUNT / BATCH_SIZE + sequenceCalls, TASK_COUNT / BATCH_SIZE, sequenceCalls, TASK_COUNT);
+
+        assertThat(taskRepository.countByColumnId(column.getId())).isEqualTo(TASK_COUNT);
+        assertThat(insertPrepares).isLessThanOrEqualTo(TASK_COUNT / BATCH_SIZE);
+        assertThat(sequenceCalls).isLessThanOrEqualTo(TASK_COUNT / BATCH_SIZE + 1);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.dao.BoardEventType;
+import com.example.mrellobackend.dto.BoardEventDto;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Streams board events to real SSE subscribers. Sender tasks run inline on the publishing thread
+ * unless held back, which stands in for a client too slow to drain its buffer.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BoardEventHubTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    @TestConfiguration
+    static class ControlledHubConfiguration {
+        @Bean
+        ControlledSenders controlledSenders() {
+            return new ControlledSenders();
+        }
+
+        @Bean
+        @Primary
+        BoardEventHub controlledBoardEventHub(ControlledSenders senders) {
+            return new BoardEventHub(BUFFER_SIZE, Duration.ofMinutes(5), senders);
+        }
+    }
+
+    // Runs sender tasks inline, or keeps them for later while holding
+    static class ControlledSenders extends AbstractExecutorService {
+        private final List<Runnable> held = new CopyOnWriteArrayList<>();
+        private volatile boolean holding;
+
+        @Override
+        public void execute(Runnable task) {
+            if (holding) {
+                held.add(task);
+            } else {
+                task.run();
+            }
+        }
+
+        void hold(boolean holding) {
+            this.holding = holding;
+        }
+
+        void runHeld() {
+            held.forEach(Runnable::run);
+            held.clear();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BoardEventHub boardEventHub;
+    @Autowired
+    private ControlledSenders senders;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Board board;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("events-user");
+        board = fixtures.board(fixtures.workspace(user), "Board");
+        token = fixtures.bearerToken(user);
+    }
+
+    @AfterEach
+    void releaseSenders() {
+        senders.hold(false);
+        senders.runHeld();
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(get("/api/v1/boards/" + board.getId() + "/events")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void publish(String marker) {
+        eventPublisher.publishEvent(BoardEventDto.builder()
+                .boardId(board.getId())
+                .type(BoardEventType.BOARD_UPDATED)
+                .data(marker)
+                .build());
+    }
+
+    private static String stream(MvcResult subscription) {
+        return new String(subscription.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void eventsAreStreamedOnlyAfterTheirTransactionCommitsWithTheVersionAsId() throws Exception {
+        MvcResult subscription = subscribe();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publish("committed");
+            assertThat(stream(subscription)).doesNotContain("committed");
+        });
+
+        assertThat(stream(subscription))
+                .contains("event:BOARD_UPDATED")
+                .contains("\"data\":\"committed\"")
+                .contains("id:1\n");
+    }
+
+    @Test
+    void rolledBackEventsAreNeverStreamed() throws Exception {
+        MvcResult subscription = subscribe();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            publish("rolled-back");
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> publish("after-rollback"));
+
+        assertThat(stream(subscription))
+                .doesNotContain("rolled-back")
+                .contains("\"data\":\"after-rollback\"");
+    }
+
+    @Test
+    void overflowingSubscriberIsDroppedWhileOthersKeepReceiving() throws Exception {
+        // The slow subscriber's sender never gets to run, so its buffer only fills up
+        senders.hold(true);
+        MvcResult slow = subscribe();
+        senders.hold(false);
+        MvcResult fast = subscribe();
+        assertThat(boardEventHub.getSubscriberCount(board.getId())).isEqualTo(2);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < BUFFER_SIZE; i++) {
+            String marker = "event-" + i;
+            transactionTemplate.executeWithoutResult(status -> publish(marker));
+        }
+        senders.runHeld();
+
+        assertThat(boardEventHub.getSubscriberCount(board.getId())).isEqualTo(1);
+        assertThat(slow.getAsyncResult(1000)).isNull();
+        assertThat(stream(slow)).doesNotContain("event-");
+
+        transactionTemplate.executeWithoutResult(status -> publish("after-drop"));
+        assertThat(stream(fast)).contains(
+                "\"data\":\"event-0\"", "\"data\":\"event-1\"", "\"data\":\"event-2\"", "\"data\":\"event-3\"",
+                "\"data\":\"after-drop\"");
+    }
+}
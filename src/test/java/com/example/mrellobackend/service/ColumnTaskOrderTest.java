@@ -0,0 +1,62 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.repository.TaskOrderKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnTaskOrderTest {
+
+    private static final Long COLUMN = 1L;
+
+    private record Row(Long getColumnId, Long getId, Long getOrderKey) implements TaskOrderKey {
+    }
+
+    private static ColumnTaskOrder columnWithKeys(long... keys) {
+        List<TaskOrderKey> rows = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            rows.add(new Row(COLUMN, (long) i + 1, keys[i]));
+        }
+        return ColumnTaskOrder.load(Set.of(COLUMN), rows).get(COLUMN);
+    }
+
+    @Test
+    void keysAreTakenFromTheGapBetweenNeighbours() {
+        assertThat(OrderKeys.between(null, null)).isEqualTo(OrderKeys.GAP);
+        assertThat(OrderKeys.between(null, 100L)).isEqualTo(100L - OrderKeys.GAP);
+        assertThat(OrderKeys.between(100L, null)).isEqualTo(100L + OrderKeys.GAP);
+        assertThat(OrderKeys.between(100L, 200L)).isEqualTo(150L);
+        assertThat(OrderKeys.between(100L, 102L)).isEqualTo(101L);
+        assertThat(OrderKeys.between(100L, 101L)).isNull();
+    }
+
+    @Test
+    void movesToTheFirstAndLastPositionOnlyChangeTheMovedTask() {
+        ColumnTaskOrder order = columnWithKeys(OrderKeys.GAP, 2 * OrderKeys.GAP, 3 * OrderKeys.GAP);
+
+        order.remove(3L);
+        order.insert(3L, 0);
+        order.remove(1L);
+        order.insert(1L, null);
+
+        assertThat(order.changedKeys()).isEqualTo(Map.of(3L, 0L, 1L, 3 * OrderKeys.GAP));
+    }
+
+    @Test
+    void exhaustedGapRespacesTheColumn() {
+        ColumnTaskOrder order = columnWithKeys(10L, 11L, 12L);
+
+        order.remove(3L);
+        order.insert(3L, 1);
+
+        assertThat(order.changedKeys()).isEqualTo(Map.of(
+                1L, OrderKeys.GAP,
+                2L, 2 * OrderKeys.GAP,
+                3L, OrderKeys.GAP + OrderKeys.GAP / 2));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mrellobackend.service;
+
+import com.example.mrellobackend.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InMemoryTaskSearchIndexTest {
+
+    private static final Long WORKSPACE = 1L;
+    private static final Long OTHER_WORKSPACE = 2L;
+
+    private InMemoryTaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex(mock(TaskRepository.class), mock(PlatformTransactionManager.class));
+        index.index(1L, WORKSPACE, "Fix login bug", "Users cannot log in with SSO");
+        index.index(2L, WORKSPACE, "Write release notes", "Mention the login bug fix");
+        index.index(3L, WORKSPACE, "Login page redesign", null);
+        index.index(4L, OTHER_WORKSPACE, "Login bug in other workspace", null);
+    }
+
+    private List<Long> search(String query, List<Long> workspaceIds, int offset, int limit) {
+        return index.search(query, workspaceIds, offset, limit).stream()
+                .map(TaskSearchIndex.Hit::taskId)
+                .toList();
+    }
+
+    @Test
+    void matchesEveryTermCaseInsensitively() {
+        assertThat(search("LOGIN Bug", List.of(WORKSPACE), 0, 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        assertThat(search("login bug", List.of(WORKSPACE), 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void onlyReturnsTasksOfTheGivenWorkspaces() {
+        assertThat(search("login", List.of(OTHER_WORKSPACE), 0, 10)).containsExactly(4L);
+        assertThat(search("login", List.of(), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesThroughResultsInRankOrder() {
+        List<Long> all = search("login", List.of(WORKSPACE), 0, 10);
+
+        assertThat(all).hasSize(3);
+        assertThat(search("login", List.of(WORKSPACE), 0, 2)).isEqualTo(all.subList(0, 2));
+        assertThat(search("login", List.of(WORKSPACE), 2, 2)).isEqualTo(all.subList(2, 3));
+    }
+
+    @Test
+    void reindexingReplacesOldTermsAndRemovingDropsTheTask() {
+        index.index(3L, WORKSPACE, "Signup page redesign", null);
+        assertThat(search("login", List.of(WORKSPACE), 0, 10)).doesNotContain(3L);
+        assertThat(search("signup", List.of(WORKSPACE), 0, 10)).containsExactly(3L);
+
+        index.taskRemoved(1L);
+        assertThat(search("login bug", List.of(WORKSPACE), 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        assertThat(search("  -- ", List.of(WORKSPACE), 0, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mrellobackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+class PostgresTaskSearchIndexTest {
+
+    @Test
+    void searchColumnIsCreatedIdempotentlyUnderALockBeforeTraffic() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+        new PostgresTaskSearchIndex(jdbcTemplate, transactionManager, "english").afterSingletonsInstantiated();
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        InOrder order = inOrder(transactionManager, jdbcTemplate);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate, times(3)).execute(statements.capture());
+        order.verify(transactionManager).commit(transaction);
+
+        assertThat(statements.getAllValues().get(0)).startsWith("SELECT pg_advisory_xact_lock(");
+        assertThat(statements.getAllValues().get(1)).startsWith("ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector");
+        assertThat(statements.getAllValues().get(2)).startsWith("CREATE INDEX IF NOT EXISTS idx_tasks_search_vector");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.mrellobackend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records every SQL statement Hibernate prepares so tests can assert on query counts. Statements
+ * are kept per thread, so schedulers and pollers of other cached contexts never show up in the
+ * counts of the test thread that runs the requests.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static long countSelectsFrom(String table, String... fragments) {
+        String fromClause = "from " + table + " ";
+        return STATEMENTS.get().stream()
+                .filter(sql -> sql.startsWith("select"))
+                .filter(sql -> sql.contains(fromClause))
+                .filter(sql -> List.of(fragments).stream().allMatch(sql::contains))
+                .count();
+    }
+
+    public static long countContaining(String fragment) {
+        return STATEMENTS.get().stream().filter(sql -> sql.contains(fragment)).count();
+    }
+
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.mrellobackend.support;
+
+import com.example.mrellobackend.auth.config.JwtService;
+import com.example.mrellobackend.auth.user.User;
+import com.example.mrellobackend.auth.user.UserRepository;
+import com.example.mrellobackend.entity.Board;
+import com.example.mrellobackend.entity.Column;
+import com.example.mrellobackend.entity.Workspace;
+import com.example.mrellobackend.repository.BoardRepository;
+import com.example.mrellobackend.repository.ColumnRepository;
+import com.example.mrellobackend.repository.WorkspaceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves the users, workspaces, boards and columns the integration tests build on. Names get a
+ * unique suffix, so tests sharing a context never collide on usernames or emails.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final UserRepository userRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final BoardRepository boardRepository;
+    private final ColumnRepository columnRepository;
+    private final JwtService jwtService;
+
+    public User user(String name) {
+        String username = name + "-" + SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret")
+                .build());
+    }
+
+    // The owner is always a member; further members are added after it
+    public Workspace workspace(User owner, User... members) {
+        List<User> allMembers = new ArrayList<>(List.of(owner));
+        allMembers.addAll(List.of(members));
+
+        Workspace workspace = new Workspace();
+        workspace.setTitle("Workspace");
+        workspace.setOwner(owner);
+        workspace.setMembers(allMembers);
+        return workspaceRepository.save(workspace);
+    }
+
+    public Board board(Workspace workspace, String title) {
+        Board board = new Board();
+        board.setTitle(title);
+        board.setWorkspace(workspace);
+        return boardRepository.save(board);
+    }
+
+    public Column column(Board board, String title, int position) {
+        Column column = new Column();
+        column.setTitle(title);
+        column.setPosition(position);
+        column.setBoard(board);
+        return columnRepository.save(column);
+    }
+
+    // Columns at positions 0, 1, 2, ... in the order given
+    public List<Column> columns(Board board, String... titles) {
+        List<Column> columns = new ArrayList<>();
+        for (String title : titles) {
+            columns.add(column(board, title, columns.size()));
+        }
+        return columns;
+    }
+
+    public String bearerToken(User user) {
+        return "Bearer " + jwtService.generateToken(user);
+    }
+}